@@ -0,0 +1,42 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import java.lang.management.*;
+
+/**
+ * CPU time, thread peak and heap of this JVM between {@link #reset()} and {@link #summary()}: what a transaction
+ * costs per core, which the JMH score alone doesn't show. Allocation rates come from {@code -PjmhProfilers=gc}.
+ * Shared by the JPA and the reactive benchmarks.
+ */
+public final class ProcessUsage {
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    private long cpuNanos;
+
+    private long transactions;
+
+    public void reset() {
+        threads.resetPeakThreadCount();
+        cpuNanos = os.getProcessCpuTime();
+        transactions = 0;
+    }
+
+    public void add(long completedTransactions) {
+        transactions += completedTransactions;
+    }
+
+    public String summary() {
+        long cpu = os.getProcessCpuTime() - cpuNanos;
+        return "%d transactions, %.1f µs CPU per transaction on %d cores, peak %d threads, %d MB heap used".formatted(
+                transactions,
+                transactions == 0 ? 0.0 : cpu / 1000.0 / transactions,
+                os.getAvailableProcessors(),
+                threads.getPeakThreadCount(),
+                memory.getHeapMemoryUsage().getUsed() >> 20);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.reactive.ReactiveTransactionIsolationDemoApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.*;
+
+/**
+ * Local PostgreSQL binary plus the reactive application context wired to it, with the same pool size
+ * as the JPA benchmarks. One instance per benchmark trial; nothing leaves the machine.
+ */
+public class ReactiveBenchmarkEnvironment implements AutoCloseable {
+
+    private static final String DB_USER = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    @Getter
+    private final ConfigurableApplicationContext context;
+
+    private ReactiveBenchmarkEnvironment(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    @SneakyThrows
+    public static ReactiveBenchmarkEnvironment start() {
+        var postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .start();
+        var properties = new HashMap<String, Object>();
+        properties.put("spring.r2dbc.url", "r2dbc:postgresql://localhost:%d/postgres".formatted(postgres.getPort()));
+        properties.put("spring.r2dbc.username", DB_USER);
+        properties.put("spring.r2dbc.password", DB_USER);
+        properties.put("spring.r2dbc.pool.max-size", 64);
+        properties.put("spring.flyway.url", postgres.getJdbcUrl(DB_USER, DB_USER));
+        properties.put("spring.flyway.user", DB_USER);
+        properties.put("spring.flyway.password", DB_USER);
+        properties.put("logging.level.root", "warn");
+        var context = new SpringApplicationBuilder(ReactiveTransactionIsolationDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+        return new ReactiveBenchmarkEnvironment(postgres, context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    @SneakyThrows
+    public void close() {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
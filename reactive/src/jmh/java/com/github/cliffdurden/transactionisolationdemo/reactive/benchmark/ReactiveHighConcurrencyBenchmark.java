@@ -0,0 +1,115 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.benchmark.ProcessUsage;
+import com.github.cliffdurden.transactionisolationdemo.reactive.Book;
+import com.github.cliffdurden.transactionisolationdemo.reactive.ReactiveBookRepository;
+import io.r2dbc.spi.R2dbcException;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Reactive counterpart of {@code HighConcurrencyBenchmark}: the same read, think, increment transaction for every
+ * client, but the think time holds only the connection, not a thread. Compare the logged CPU per transaction and
+ * thread peak, and {@code -PjmhProfilers=gc}, with the JPA run.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+public class ReactiveHighConcurrencyBenchmark {
+
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01");
+
+    @Param({"256", "2048", "8192"})
+    public int clients;
+
+    @Param({"READ_COMMITTED", "REPEATABLE_READ"})
+    public Isolation isolation;
+
+    @Param({"5"})
+    public int thinkMillis;
+
+    @Param({"1000"})
+    public int books;
+
+    private ReactiveBenchmarkEnvironment environment;
+    private ReactiveBookRepository repository;
+    private TransactionalOperator transactional;
+    private List<Long> ids;
+    private final ProcessUsage usage = new ProcessUsage();
+    private final AtomicLong aborts = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = ReactiveBenchmarkEnvironment.start();
+        repository = environment.bean(ReactiveBookRepository.class);
+        var definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(isolation.value());
+        transactional = TransactionalOperator.create(environment.bean(ReactiveTransactionManager.class), definition);
+        ids = repository.saveAll(IntStream.range(0, books)
+                        .mapToObj(i -> Book.builder().title("Title " + i).author("Author").rating(0).build())
+                        .toList())
+                .map(Book::getId)
+                .collectList()
+                .block();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetUsage() {
+        usage.reset();
+        aborts.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void logUsage() {
+        log.warn("R2DBC, clients={}, {}: {}, {} aborts", clients, isolation, usage.summary(), aborts.get());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Long allClients() {
+        var completed = Flux.range(0, clients)
+                .flatMap(i -> transaction(), clients)
+                .count()
+                .block();
+        usage.add(clients);
+        return completed;
+    }
+
+    private Mono<Integer> transaction() {
+        var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return transactional.transactional(repository.findById(id)
+                        .then(Mono.delay(Duration.ofMillis(thinkMillis)))
+                        .then(repository.incrementRating(id, 1)))
+                .onErrorResume(ReactiveHighConcurrencyBenchmark::isRetryable, e -> {
+                    aborts.incrementAndGet();
+                    return Mono.empty();
+                });
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbcException && RETRYABLE_SQL_STATES.contains(r2dbcException.getSqlState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
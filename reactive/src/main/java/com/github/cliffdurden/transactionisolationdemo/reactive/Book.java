@@ -0,0 +1,39 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive;
+
+import lombok.*;
+import org.springframework.data.annotation.*;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * The same {@code book} table as the JPA entity, mapped by Spring Data R2DBC.
+ */
+@Table("book")
+@Builder
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+@NoArgsConstructor
+@Getter
+@Setter
+@ToString
+public class Book {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String author;
+
+    private Integer rating;
+
+    private Instant ratingRecalculatedAt;
+
+    /**
+     * Optimistic lock on the column the JPA rating updates bump: saving a stale book fails with
+     * {@code OptimisticLockingFailureException}.
+     */
+    @Version
+    private Long version;
+
+}
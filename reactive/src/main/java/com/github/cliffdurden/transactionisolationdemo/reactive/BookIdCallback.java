@@ -0,0 +1,35 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code id} column has no default: the JPA side allocates blocks of ids from {@code book_seq} (pooled-lo), and
+ * a {@code nextval} result {@code v} reserves {@code [v, v + 50)}. New books here take {@code v} itself, which never
+ * collides with ids handed out by Hibernate, at the cost of the rest of the block.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookIdCallback implements BeforeConvertCallback<Book> {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Publisher<Book> onBeforeConvert(Book book, SqlIdentifier table) {
+        if (book.getId() != null) {
+            return Mono.just(book);
+        }
+        return databaseClient.sql("SELECT nextval('book_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(id -> {
+                    book.setId(id);
+                    return book;
+                });
+    }
+}
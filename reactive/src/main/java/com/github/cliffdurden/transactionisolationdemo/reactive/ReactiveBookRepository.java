@@ -0,0 +1,14 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive;
+
+import org.springframework.data.r2dbc.repository.*;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.*;
+
+public interface ReactiveBookRepository extends ReactiveCrudRepository<Book, Long> {
+
+    Flux<Book> findAllByRatingGreaterThan(Integer rating);
+
+    @Modifying
+    @Query("UPDATE book SET rating = rating + :delta, version = version + 1 WHERE id = :id")
+    Mono<Integer> incrementRating(Long id, Integer delta);
+}
@@ -0,0 +1,95 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.*;
+
+import java.util.*;
+
+/**
+ * Reactive counterpart of the isolation scenarios of {@code BookServiceDemoImpl}, with the isolation level chosen
+ * per call. Where the JPA version parks its thread on a latch between two steps, these wait for {@code proceed}:
+ * the transaction keeps its connection, but no thread is blocked meanwhile. {@code started} completes once the
+ * first step is done.
+ */
+@Slf4j
+@Service
+public class ReactiveBookService {
+
+    private final ReactiveBookRepository repository;
+
+    private final Map<Isolation, TransactionalOperator> operators = new EnumMap<>(Isolation.class);
+
+    private final Map<Isolation, TransactionalOperator> readOnlyOperators = new EnumMap<>(Isolation.class);
+
+    public ReactiveBookService(ReactiveBookRepository repository, ReactiveTransactionManager transactionManager) {
+        this.repository = repository;
+        for (var isolation : Isolation.values()) {
+            operators.put(isolation, operator(transactionManager, isolation, false));
+            readOnlyOperators.put(isolation, operator(transactionManager, isolation, true));
+        }
+    }
+
+    public Mono<Book> dirtyRead(Isolation isolation, Sinks.Empty<Void> started, Mono<Void> proceed, Long id) {
+        return readOnlyOperators.get(isolation).transactional(Mono.fromRunnable(started::tryEmitEmpty)
+                .then(proceed) // waiting until another transaction will have made changes
+                .then(repository.findById(id)));
+    }
+
+    public Mono<Book> nonRepeatableRead(Isolation isolation, Sinks.Empty<Void> started, Mono<Void> proceed, Long id) {
+        return readOnlyOperators.get(isolation).transactional(repository.findById(id)
+                .doOnNext(book -> log.info("T1 book in the beginning. value: {}", book))
+                .then(Mono.fromRunnable(started::tryEmitEmpty))
+                .then(proceed) // waiting until another transaction has been finished
+                .then(repository.findById(id)));
+    }
+
+    public Mono<List<Book>> phantomRead(Isolation isolation, Sinks.Empty<Void> started, Mono<Void> proceed) {
+        return readOnlyOperators.get(isolation).transactional(repository.findAll().collectList()
+                .doOnNext(books -> log.debug("T1 book in the beginning. value: {}", books))
+                .then(Mono.fromRunnable(started::tryEmitEmpty))
+                .then(proceed) // waiting until another transaction has been finished
+                .then(repository.findAll().collectList()));
+    }
+
+    /**
+     * Versioned read-modify-write: fails with {@code OptimisticLockingFailureException} if the book changed meanwhile.
+     */
+    public Mono<Book> updateRating(Isolation isolation, Long id, Integer rating) {
+        return operators.get(isolation).transactional(repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("No book " + id)))
+                .flatMap(book -> {
+                    book.setRating(rating);
+                    return repository.save(book);
+                }));
+    }
+
+    public Mono<Boolean> incrementRating(Isolation isolation, Long id, Integer delta) {
+        return operators.get(isolation).transactional(repository.incrementRating(id, delta)
+                .map(updated -> updated == 1));
+    }
+
+    public Flux<Book> addBooks(Isolation isolation, Book... newBooks) {
+        return operators.get(isolation).transactional(repository.saveAll(Arrays.asList(newBooks)));
+    }
+
+    public Flux<Book> findBooksWithRatingGreaterThan(Isolation isolation, Integer rating) {
+        return readOnlyOperators.get(isolation).transactional(repository.findAllByRatingGreaterThan(rating));
+    }
+
+    public Mono<Void> deleteAll() {
+        return repository.deleteAll();
+    }
+
+    private static TransactionalOperator operator(ReactiveTransactionManager transactionManager, Isolation isolation,
+                                                  boolean readOnly) {
+        var definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(isolation.value());
+        definition.setReadOnly(readOnly);
+        return TransactionalOperator.create(transactionManager, definition);
+    }
+}
@@ -0,0 +1,13 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveTransactionIsolationDemoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveTransactionIsolationDemoApplication.class, args);
+    }
+
+}
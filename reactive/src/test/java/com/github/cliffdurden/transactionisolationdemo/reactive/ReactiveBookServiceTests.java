@@ -0,0 +1,194 @@
+package com.github.cliffdurden.transactionisolationdemo.reactive;
+
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.*;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.*;
+import reactor.core.publisher.*;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class ReactiveBookServiceTests {
+
+    @Container
+    static PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:15.2");
+
+    @Autowired
+    private ReactiveBookService testSubject;
+
+    @Autowired
+    private ReactiveBookRepository repository;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    private Book book1;
+
+    @BeforeEach
+    void setUp() {
+        book1 = repository.save(Book.builder()
+                        .author("Donald Knuth")
+                        .title("Art of Computer Programming, Volume 1: Fundamental Algorithms")
+                        .rating(0)
+                        .build())
+                .block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testSubject.deleteAll().block();
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        registry.add("DB_URL", () -> db.getJdbcUrl());
+        registry.add("DB_R2DBC_URL", () -> "r2dbc:postgresql://%s:%d/%s".formatted(
+                db.getHost(), db.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), db.getDatabaseName()));
+        registry.add("DB_USERNAME", () -> db.getUsername());
+        registry.add("DB_PASSWORD", () -> db.getPassword());
+    }
+
+    @DisplayName("[Non-repeatable read / READ_COMMITTED] should see the change committed by another transaction.")
+    @Test
+    @SneakyThrows
+    void testNonRepeatableReadWhenIsolationLevelIsReadCommitted() {
+        val result = nonRepeatableRead(Isolation.READ_COMMITTED);
+
+        assertEquals(5, result.getRating());
+    }
+
+    @DisplayName("[Non-repeatable read / REPEATABLE_READ] should not see the change committed by another transaction.")
+    @Test
+    @SneakyThrows
+    void testNonRepeatableReadWhenIsolationLevelIsRepeatableRead() {
+        val result = nonRepeatableRead(Isolation.REPEATABLE_READ);
+
+        assertEquals(0, result.getRating());
+    }
+
+    @DisplayName("[Dirty read / READ_UNCOMMITTED] should not see the uncommitted change: PostgreSQL never reads dirty.")
+    @Test
+    @SneakyThrows
+    void testDirtyReadWhenIsolationLevelIsReadUncommitted() {
+        var started = Sinks.<Void>empty();
+        var proceed = Sinks.<Void>empty();
+        var t2Updated = Sinks.<Void>empty();
+        var t2Rollback = Sinks.<Void>empty();
+        var t1 = testSubject.dirtyRead(Isolation.READ_UNCOMMITTED, started, proceed.asMono(), book1.getId()).toFuture();
+        started.asMono().block();
+
+        var t2 = TransactionalOperator.create(transactionManager)
+                .execute(status -> repository.incrementRating(book1.getId(), 5)
+                        .then(Mono.fromRunnable(t2Updated::tryEmitEmpty))
+                        .then(t2Rollback.asMono())
+                        .doOnSuccess(ignored -> status.setRollbackOnly()))
+                .then()
+                .toFuture();
+        t2Updated.asMono().block();
+        proceed.tryEmitEmpty();
+        val result = t1.get(10, TimeUnit.SECONDS);
+        t2Rollback.tryEmitEmpty();
+        t2.get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, result.getRating());
+        assertEquals(0, repository.findById(book1.getId()).block().getRating());
+    }
+
+    @DisplayName("[Phantom read / READ_COMMITTED] should see the book inserted by another transaction.")
+    @Test
+    @SneakyThrows
+    void testPhantomReadWhenIsolationLevelIsReadCommitted() {
+        val result = phantomRead(Isolation.READ_COMMITTED);
+
+        assertEquals(2, result.size());
+    }
+
+    @DisplayName("[Phantom read / REPEATABLE_READ] should not see the book inserted by another transaction.")
+    @Test
+    @SneakyThrows
+    void testPhantomReadWhenIsolationLevelIsRepeatableRead() {
+        val result = phantomRead(Isolation.REPEATABLE_READ);
+
+        assertEquals(1, result.size());
+    }
+
+    @DisplayName("[Add books] all books should be saved in one transaction and get ids.")
+    @Test
+    void testAddBooks() {
+        val saved = testSubject.addBooks(Isolation.READ_COMMITTED, newBook(2), newBook(3)).collectList().block();
+
+        assertEquals(2, saved.size());
+        assertTrue(saved.stream().allMatch(book -> book.getId() != null));
+        assertEquals(3, repository.count().block());
+    }
+
+    @DisplayName("[Increment] should add the delta in the database and report whether the book exists.")
+    @Test
+    void testIncrementRating() {
+        StepVerifier.create(testSubject.incrementRating(Isolation.READ_COMMITTED, book1.getId(), 2))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(testSubject.incrementRating(Isolation.READ_COMMITTED, book1.getId(), 3))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(testSubject.incrementRating(Isolation.READ_COMMITTED, -1L, 3))
+                .expectNext(false)
+                .verifyComplete();
+
+        val book = repository.findById(book1.getId()).block();
+        assertEquals(5, book.getRating());
+        assertEquals(book1.getVersion() + 2, book.getVersion());
+    }
+
+    @DisplayName("[Lost update] saving a stale book should fail instead of overwriting a committed change.")
+    @Test
+    void testStaleUpdateFails() {
+        testSubject.updateRating(Isolation.READ_COMMITTED, book1.getId(), 3).block();
+        book1.setRating(4);
+
+        StepVerifier.create(repository.save(book1))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    @SneakyThrows
+    private List<Book> phantomRead(Isolation isolation) {
+        var started = Sinks.<Void>empty();
+        var proceed = Sinks.<Void>empty();
+        var t1 = testSubject.phantomRead(isolation, started, proceed.asMono()).toFuture();
+
+        started.asMono().thenMany(testSubject.addBooks(Isolation.READ_COMMITTED, newBook(5))).blockLast();
+        proceed.tryEmitEmpty();
+
+        return t1.get(10, TimeUnit.SECONDS);
+    }
+
+    private static Book newBook(int rating) {
+        return Book.builder().author("Donald Knuth").title("Rated " + rating).rating(rating).build();
+    }
+
+    @SneakyThrows
+    private Book nonRepeatableRead(Isolation isolation) {
+        var started = Sinks.<Void>empty();
+        var proceed = Sinks.<Void>empty();
+        var t1 = testSubject.nonRepeatableRead(isolation, started, proceed.asMono(), book1.getId()).toFuture();
+
+        started.asMono().then(testSubject.updateRating(Isolation.READ_COMMITTED, book1.getId(), 5)).block();
+        proceed.tryEmitEmpty();
+
+        return t1.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.TransactionIsolationDemoApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Local PostgreSQL binary plus a non-web application context wired to it.
+ * One instance per benchmark trial; nothing leaves the machine.
+ */
+public class BenchmarkEnvironment implements AutoCloseable {
+
+    private static final String DB_USER = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    @Getter
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkEnvironment(EmbeddedPostgres postgres, ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.context = context;
+    }
+
+    public static BenchmarkEnvironment start() {
+        return start(Map.of());
+    }
+
+    @SneakyThrows
+    public static BenchmarkEnvironment start(Map<String, Object> extraProperties) {
+        var postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .start();
+        var properties = new HashMap<String, Object>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl(DB_USER, DB_USER));
+        properties.put("spring.datasource.username", DB_USER);
+        properties.put("spring.datasource.password", DB_USER);
+        properties.put("spring.datasource.hikari.maximum-pool-size", 64);
+        properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        properties.put("spring.jpa.open-in-view", false);
+        properties.put("logging.level.root", "warn");
+        properties.putAll(extraProperties);
+        var context = new SpringApplicationBuilder(TransactionIsolationDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+        return new BenchmarkEnvironment(postgres, context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public TransactionTemplate transactionTemplate(Isolation isolation) {
+        var template = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        template.setIsolationLevel(isolation.value());
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        return template;
+    }
+
+    @Override
+    @SneakyThrows
+    public void close() {
+        try {
+            context.close();
+        } finally {
+            postgres.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookIngestionService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to load N books: the per-row {@code addBooksT2} path (JDBC batching switched off for the session),
+ * Hibernate with JDBC batching, and {@code COPY FROM STDIN}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class BulkIngestionBenchmark {
+
+    public enum Path {PER_ROW, BATCHED, COPY}
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    @Param({"PER_ROW", "BATCHED", "COPY"})
+    public Path path;
+
+    private BenchmarkEnvironment environment;
+    private BookServiceDemoImpl service;
+    private BookIngestionService ingestionService;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        service = environment.bean(BookServiceDemoImpl.class);
+        ingestionService = environment.bean(BookIngestionService.class);
+        entityManager = environment.bean(EntityManager.class);
+        jdbcTemplate = environment.bean(JdbcTemplate.class);
+        transaction = environment.transactionTemplate(Isolation.READ_COMMITTED);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE book");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public long ingest() {
+        return switch (path) {
+            case PER_ROW -> transaction.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+                service.addBooksT2(books().toArray(Book[]::new));
+                return (long) rows;
+            });
+            case BATCHED -> ingestionService.ingestBatched(books());
+            case COPY -> ingestionService.ingestWithCopy(books());
+        };
+    }
+
+    private Stream<Book> books() {
+        return Stream.generate(() -> {
+            var random = ThreadLocalRandom.current();
+            return Book.builder()
+                    .author("Author " + random.nextInt(1000))
+                    .title("Title " + random.nextLong())
+                    .rating(random.nextInt(100))
+                    .build();
+        }).limit(rows);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.concurrency.ConcurrentTransactionRunner;
+import com.github.cliffdurden.transactionisolationdemo.concurrency.RunReport;
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Many clients at once on the blocking JPA stack: each transaction reads a book, "thinks" while holding its
+ * connection and thread, then increments the rating. One invocation runs all clients to completion.
+ * Mirrors {@code ReactiveHighConcurrencyBenchmark} in the reactive module: same workload, pool size and parameters.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+public class HighConcurrencyBenchmark {
+
+    @Param({"256", "2048", "8192"})
+    public int clients;
+
+    @Param({"READ_COMMITTED", "REPEATABLE_READ"})
+    public Isolation isolation;
+
+    @Param({"5"})
+    public int thinkMillis;
+
+    @Param({"1000"})
+    public int books;
+
+    private BenchmarkEnvironment environment;
+    private ConcurrentTransactionRunner runner;
+    private BookRepository repository;
+    private DefaultTransactionDefinition definition;
+    private List<Long> ids;
+    private final ProcessUsage usage = new ProcessUsage();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        runner = environment.bean(ConcurrentTransactionRunner.class);
+        repository = environment.bean(BookRepository.class);
+        definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(isolation.value());
+        ids = repository.saveAll(IntStream.range(0, books)
+                        .mapToObj(i -> Book.builder().title("Title " + i).author("Author").rating(0).build())
+                        .toList())
+                .stream()
+                .map(Book::getId)
+                .toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetUsage() {
+        usage.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void logUsage() {
+        log.warn("JPA, clients={}, {}: {}", clients, isolation, usage.summary());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public RunReport allClients() {
+        var report = runner.run(clients, definition, (index, barrier) -> {
+            var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            repository.findById(id).orElseThrow();
+            Thread.sleep(thinkMillis);
+            repository.incrementRating(id, 1);
+        });
+        usage.add(report.transactions());
+        return report;
+    }
+}
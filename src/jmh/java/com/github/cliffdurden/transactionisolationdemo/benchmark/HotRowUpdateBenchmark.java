@@ -0,0 +1,77 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Rating increments on a few hot rows: optimistic read-modify-write against a single {@code UPDATE} statement.
+ * Run with several threads, e.g. {@code -PjmhThreads=8 -PjmhIncludes=HotRowUpdateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HotRowUpdateBenchmark {
+
+    @Param({"1", "16"})
+    public int hotBooks;
+
+    private BenchmarkEnvironment environment;
+    private BookServiceDemoImpl service;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        service = environment.bean(BookServiceDemoImpl.class);
+        ids = environment.bean(BookRepository.class)
+                .saveAll(IntStream.range(0, hotBooks)
+                        .mapToObj(i -> Book.builder().title("Hot " + i).author("Author").rating(0).build())
+                        .toList())
+                .stream()
+                .map(Book::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void optimisticReadModifyWrite(Conflicts conflicts) {
+        try {
+            service.incrementRatingOptimistically(randomId(), 1);
+        } catch (OptimisticLockingFailureException e) {
+            conflicts.conflicts++;
+        }
+    }
+
+    @Benchmark
+    public boolean atomicIncrement() {
+        return service.incrementRating(randomId(), 1);
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.retry.SerializationFailures;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput, latency percentiles and abort counts of the demo operations per isolation level.
+ * Thread count comes from the build ({@code -PjmhThreads=N}), one results file per run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IsolationLevelBenchmark {
+
+    @Param({"READ_COMMITTED", "REPEATABLE_READ", "SERIALIZABLE"})
+    public Isolation isolation;
+
+    @Param({"1000"})
+    public int books;
+
+    private BenchmarkEnvironment environment;
+    private BookServiceDemoImpl service;
+    private BookRepository repository;
+    private TransactionTemplate transaction;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        service = environment.bean(BookServiceDemoImpl.class);
+        repository = environment.bean(BookRepository.class);
+        transaction = environment.transactionTemplate(isolation);
+        ids = repository.saveAll(IntStream.range(0, books).mapToObj(i -> randomBook()).toList())
+                .stream()
+                .map(Book::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public Object findById(Outcomes outcomes) {
+        return outcomes.record(transaction, () -> repository.findById(randomId()).orElseThrow());
+    }
+
+    @Benchmark
+    public Object findAllByRatingGreaterThan(Outcomes outcomes) {
+        return outcomes.record(transaction, () -> repository.findAllByRatingGreaterThan(98));
+    }
+
+    @Benchmark
+    public Object updateRatingT2(Outcomes outcomes) {
+        return outcomes.record(transaction, () -> {
+            service.updateRatingT2(randomId(), ThreadLocalRandom.current().nextInt(100));
+            return null;
+        });
+    }
+
+    @Benchmark
+    public Object addBooksT2(Outcomes outcomes) {
+        return outcomes.record(transaction, () -> {
+            service.addBooksT2(randomBook(), randomBook());
+            return null;
+        });
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static Book randomBook() {
+        var random = ThreadLocalRandom.current();
+        return Book.builder()
+                .author("Author " + random.nextInt(1000))
+                .title("Title " + random.nextLong())
+                .rating(random.nextInt(100))
+                .build();
+    }
+
+    /**
+     * Per-thread commit/abort counters, reported by JMH next to the primary score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long commits;
+
+        public long aborts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            commits = 0;
+            aborts = 0;
+        }
+
+        <T> T record(TransactionTemplate transaction, Supplier<T> action) {
+            try {
+                T result = transaction.execute(status -> action.get());
+                commits++;
+                return result;
+            } catch (RuntimeException e) {
+                if (!SerializationFailures.isRetryable(e)) {
+                    throw e;
+                }
+                aborts++;
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.service.BookIngestionService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookScanService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full scans of a large table: {@code findAll()} materialization against streaming and keyset pages.
+ * Heap usage: {@code -PjmhProfilers=gc -PjmhIncludes=LargeScanBenchmark}, and compare with a small {@code -Xmx}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class LargeScanBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    private BenchmarkEnvironment environment;
+    private BookRepository repository;
+    private BookScanService scanService;
+    private TransactionTemplate transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        repository = environment.bean(BookRepository.class);
+        scanService = environment.bean(BookScanService.class);
+        transaction = environment.transactionTemplate(Isolation.READ_COMMITTED);
+        transaction.setReadOnly(true);
+        environment.bean(BookIngestionService.class).ingestWithCopy(books(rows));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public int findAll() {
+        return transaction.execute(status -> repository.findAll().size());
+    }
+
+    @Benchmark
+    public long stream(Blackhole blackhole) {
+        return scanService.streamBooksWithRatingGreaterThan(-1, blackhole::consume);
+    }
+
+    @Benchmark
+    public long keysetPages(Blackhole blackhole) {
+        return scanService.forEachPage(-1, 1000, blackhole::consume);
+    }
+
+    static Stream<Book> books(int rows) {
+        return Stream.generate(() -> {
+            var random = ThreadLocalRandom.current();
+            return Book.builder()
+                    .author("Author " + random.nextInt(1000))
+                    .title("Title " + random.nextLong())
+                    .rating(random.nextInt(100))
+                    .build();
+        }).limit(rows);
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read one page at increasing depth: OFFSET pagination slows down linearly, keyset pagination doesn't.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PageDepthBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"0", "100", "500", "999"})
+    public int page;
+
+    private BenchmarkEnvironment environment;
+    private BookRepository repository;
+    private BookScanService scanService;
+    private BookKeyset keyset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        repository = environment.bean(BookRepository.class);
+        scanService = environment.bean(BookScanService.class);
+        environment.bean(BookIngestionService.class).ingestWithCopy(LargeScanBenchmark.books(ROWS));
+        keyset = page == 0
+                ? BookKeyset.start(-1)
+                : BookKeyset.of(last(offsetPage(page - 1)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<Book> offset() {
+        return offsetPage(page);
+    }
+
+    @Benchmark
+    public List<Book> keyset() {
+        return scanService.nextPage(-1, keyset, PAGE_SIZE);
+    }
+
+    private List<Book> offsetPage(int number) {
+        return repository.findAllByRatingGreaterThan(-1, PageRequest.of(number, PAGE_SIZE, Sort.by("rating", "id")))
+                .getContent();
+    }
+
+    private static Book last(List<Book> books) {
+        return books.get(books.size() - 1);
+    }
+}
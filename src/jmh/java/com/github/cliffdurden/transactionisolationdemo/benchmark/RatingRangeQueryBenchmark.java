@@ -0,0 +1,82 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookSummary;
+import com.github.cliffdurden.transactionisolationdemo.service.BookIngestionService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rating range queries with and without the covering rating index.
+ * The query plans are logged at setup, so a run shows the before/after plans next to the latencies.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RatingRangeQueryBenchmark {
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int MIN_RATING = 98;
+
+    @Param({"false", "true"})
+    public boolean index;
+
+    private BenchmarkEnvironment environment;
+    private BookRepository repository;
+    private BookServiceDemoImpl service;
+    private TransactionTemplate transaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        repository = environment.bean(BookRepository.class);
+        service = environment.bean(BookServiceDemoImpl.class);
+        transaction = environment.transactionTemplate(Isolation.READ_COMMITTED);
+        transaction.setReadOnly(true);
+        environment.bean(BookIngestionService.class).ingestWithCopy(LargeScanBenchmark.books(ROWS));
+
+        var jdbcTemplate = environment.bean(JdbcTemplate.class);
+        if (!index) {
+            jdbcTemplate.execute("DROP INDEX " + Book.RATING_INDEX);
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE book"); // index-only scans need an up-to-date visibility map
+        explain(jdbcTemplate, "SELECT * FROM book WHERE rating > " + MIN_RATING);
+        explain(jdbcTemplate, "SELECT id, title, rating FROM book WHERE rating > " + MIN_RATING);
+        explain(jdbcTemplate, "SELECT id, title, rating FROM book WHERE rating > " + MIN_RATING + " ORDER BY rating DESC, id DESC LIMIT 10");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<Book> entities() {
+        return transaction.execute(status -> repository.findAllByRatingGreaterThan(MIN_RATING));
+    }
+
+    @Benchmark
+    public List<BookSummary> summaries() {
+        return transaction.execute(status -> repository.findSummariesByRatingGreaterThan(MIN_RATING));
+    }
+
+    @Benchmark
+    public List<BookSummary> best10() {
+        return service.findBestBooks(MIN_RATING, 10);
+    }
+
+    private void explain(JdbcTemplate jdbcTemplate, String sql) {
+        var plan = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class);
+        log.warn("index={}: {}\n{}", index, sql, String.join("\n", plan));
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.cache.SecondLevelCacheStatistics;
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@code findById} latency with and without the second-level cache (profile {@code l2cache}).
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecondLevelCacheBenchmark {
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    @Param({"READ_COMMITTED", "REPEATABLE_READ"})
+    public Isolation isolation;
+
+    private BenchmarkEnvironment environment;
+    private BookRepository repository;
+    private TransactionTemplate transaction;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start(cache ? Map.of("spring.profiles.active", "l2cache") : Map.of());
+        repository = environment.bean(BookRepository.class);
+        transaction = environment.transactionTemplate(isolation);
+        ids = repository.saveAll(IntStream.range(0, 1000)
+                        .mapToObj(i -> Book.builder().title("Title " + i).author("Author").rating(i % 100).build())
+                        .toList())
+                .stream()
+                .map(Book::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (cache) {
+            log.warn("{}: {}", isolation, environment.bean(SecondLevelCacheStatistics.class).region(Book.CACHE_REGION));
+        }
+        environment.close();
+    }
+
+    @Benchmark
+    public Book findById() {
+        var id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return transaction.execute(status -> repository.findById(id).orElseThrow());
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.retry.SerializationFailureRetryAspect;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Hot-row updates: SERIALIZABLE with automatic retries against READ_COMMITTED with {@code SELECT ... FOR UPDATE}.
+ * Run with several threads, e.g. {@code -PjmhThreads=8 -PjmhIncludes=SerializableRetryBenchmark}.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializableRetryBenchmark {
+
+    @Param({"4", "64"})
+    public int hotBooks;
+
+    private BenchmarkEnvironment environment;
+    private BookServiceDemoImpl service;
+    private SerializationFailureRetryAspect retryAspect;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        service = environment.bean(BookServiceDemoImpl.class);
+        retryAspect = environment.bean(SerializationFailureRetryAspect.class);
+        ids = environment.bean(BookRepository.class)
+                .saveAll(IntStream.range(0, hotBooks)
+                        .mapToObj(i -> Book.builder().title("Hot " + i).author("Author").rating(0).build())
+                        .toList())
+                .stream()
+                .map(Book::getId)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        log.warn("hotBooks={}: {} retries, {} give-ups", hotBooks, retryAspect.getRetries(), retryAspect.getGiveUps());
+        environment.close();
+    }
+
+    @Benchmark
+    public void serializableWithRetry() {
+        service.updateRatingWhenIsolationLevelIsSerializable(randomId(), ThreadLocalRandom.current().nextInt(100));
+    }
+
+    @Benchmark
+    public void readCommittedWithPessimisticLock() {
+        service.updateRatingWithPessimisticLock(randomId(), ThreadLocalRandom.current().nextInt(100));
+    }
+
+    private Long randomId() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.service.*;
+import lombok.SneakyThrows;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot export of a large table by an increasing number of parallel {@code COPY} workers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class SnapshotExportBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"CSV", "BINARY"})
+    public ExportFormat format;
+
+    private BenchmarkEnvironment environment;
+    private BookSnapshotExporter exporter;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    @SneakyThrows
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        exporter = environment.bean(BookSnapshotExporter.class);
+        directory = Files.createTempDirectory("book-export");
+        environment.bean(BookIngestionService.class).ingestWithCopy(LargeScanBenchmark.books(rows));
+    }
+
+    @TearDown(Level.Trial)
+    @SneakyThrows
+    public void tearDown() {
+        FileSystemUtils.deleteRecursively(directory);
+        environment.close();
+    }
+
+    @Benchmark
+    @SneakyThrows
+    public SnapshotExport export() {
+        return exporter.export(directory, workers, format);
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Increments of a single hot book: striped counter rows with K stripes against one {@code UPDATE} of the book row.
+ * Run with several threads, e.g. {@code -PjmhThreads=16 -PjmhIncludes=StripedCounterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StripedCounterBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    public int stripes;
+
+    private BenchmarkEnvironment environment;
+    private BookServiceDemoImpl service;
+    private Long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        service = environment.bean(BookServiceDemoImpl.class);
+        id = environment.bean(BookRepository.class)
+                .save(Book.builder().title("Hot").author("Author").rating(0).build())
+                .getId();
+    }
+
+    @TearDown(Level.Iteration)
+    public void compact() {
+        service.compactRatingStripes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    @Benchmark
+    public void stripedIncrement() {
+        service.incrementRatingStriped(id, 1, stripes);
+    }
+
+    @Benchmark
+    public boolean rowIncrement() {
+        return service.incrementRating(id, 1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.cliffdurden.transactionisolationdemo.benchmark;
+
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.retry.SerializationFailures;
+import com.github.cliffdurden.transactionisolationdemo.service.BookIngestionService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookWorkQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Draining the recalculation queue with N workers: {@code FOR UPDATE SKIP LOCKED} claims against SERIALIZABLE
+ * transactions that read the same "next batch" and retry whenever they collide.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class WorkQueueBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"SKIP_LOCKED", "SERIALIZABLE"})
+    public String mode;
+
+    @Param({"100"})
+    public int batchSize;
+
+    private BenchmarkEnvironment environment;
+    private BookRepository repository;
+    private BookWorkQueue workQueue;
+    private TransactionTemplate serializable;
+    private final AtomicLong retries = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        environment = BenchmarkEnvironment.start();
+        repository = environment.bean(BookRepository.class);
+        workQueue = environment.bean(BookWorkQueue.class);
+        serializable = environment.transactionTemplate(Isolation.SERIALIZABLE);
+        environment.bean(BookIngestionService.class).ingestWithCopy(LargeScanBenchmark.books(rows));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        log.warn("mode={}, workers={}: {} retries", mode, workers, retries.get());
+        environment.close();
+    }
+
+    @Benchmark
+    public long drain() {
+        return "SKIP_LOCKED".equals(mode)
+                ? workQueue.drain(workers, batchSize, book -> book.setRating(book.getRating() + 1))
+                : drainSerializable();
+    }
+
+    private long drainSerializable() {
+        var since = Instant.now();
+        return BookWorkQueue.drain(workers, () -> processSerializableBatch(since));
+    }
+
+    private int processSerializableBatch(Instant since) {
+        while (true) {
+            try {
+                return serializable.execute(status -> {
+                    var batch = new ArrayList<>(repository.findNotRecalculated(PageRequest.of(0, batchSize)));
+                    if (batch.size() < batchSize) {
+                        batch.addAll(repository.findRecalculatedBefore(since, PageRequest.of(0, batchSize - batch.size())));
+                    }
+                    var now = Instant.now();
+                    batch.forEach(book -> {
+                        book.setRating(book.getRating() + 1);
+                        book.setRatingRecalculatedAt(now);
+                    });
+                    return batch.size();
+                });
+            } catch (RuntimeException e) {
+                if (!SerializationFailures.isRetryable(e)) {
+                    throw e;
+                }
+                retries.incrementAndGet();
+            }
+        }
+    }
+}
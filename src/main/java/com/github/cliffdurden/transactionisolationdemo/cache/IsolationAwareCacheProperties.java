@@ -0,0 +1,20 @@
+package com.github.cliffdurden.transactionisolationdemo.cache;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties("demo.cache")
+public class IsolationAwareCacheProperties {
+
+    /**
+     * Transactions with these isolation levels neither read from nor write to the second-level cache.
+     * A cached row may be newer than the snapshot of a REPEATABLE_READ/SERIALIZABLE transaction.
+     */
+    private Set<Isolation> bypassIsolationLevels = EnumSet.noneOf(Isolation.class);
+}
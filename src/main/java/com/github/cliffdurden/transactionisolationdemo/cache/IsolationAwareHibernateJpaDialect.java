@@ -0,0 +1,34 @@
+package com.github.cliffdurden.transactionisolationdemo.cache;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Switches the second-level cache off for transactions whose isolation level can't tolerate it.
+ * Relies on every transaction getting its own {@code EntityManager}, which is the case without open-in-view.
+ */
+public class IsolationAwareHibernateJpaDialect extends HibernateJpaDialect {
+
+    private final Set<Integer> bypassIsolationLevels;
+
+    public IsolationAwareHibernateJpaDialect(Collection<Isolation> bypassIsolationLevels) {
+        this.bypassIsolationLevels = new HashSet<>();
+        bypassIsolationLevels.forEach(isolation -> this.bypassIsolationLevels.add(isolation.value()));
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition) throws SQLException {
+        var transactionData = super.beginTransaction(entityManager, definition);
+        if (bypassIsolationLevels.contains(definition.getIsolationLevel())) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        }
+        return transactionData;
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.cliffdurden.transactionisolationdemo.cache;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.*;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+@Profile("l2cache")
+@Configuration(proxyBeanMethods = false)
+public class SecondLevelCacheConfiguration {
+
+    /**
+     * The dialect is set on the entity manager factory rather than on the transaction manager,
+     * because {@code JpaTransactionManager} copies it from the factory on initialization.
+     */
+    @Bean
+    static BeanPostProcessor isolationAwareJpaDialectPostProcessor(Environment environment) {
+        var properties = Binder.get(environment).bindOrCreate("demo.cache", IsolationAwareCacheProperties.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new IsolationAwareHibernateJpaDialect(properties.getBypassIsolationLevels()));
+                }
+                return bean;
+            }
+        };
+    }
+}
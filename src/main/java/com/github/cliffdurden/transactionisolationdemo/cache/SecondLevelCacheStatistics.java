@@ -0,0 +1,48 @@
+package com.github.cliffdurden.transactionisolationdemo.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Hit/miss/put counts come from Hibernate statistics ({@code hibernate.generate_statistics}),
+ * evictions from the JCache statistics MBean of the region ({@code monitoring.statistics} in {@code application.conf}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public RegionStatistics region(String regionName) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getCacheRegionStatistics(regionName);
+        if (statistics == null) {
+            return new RegionStatistics(0, 0, 0, 0);
+        }
+        return new RegionStatistics(statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount(),
+                evictions(regionName));
+    }
+
+    private long evictions(String regionName) {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        long evictions = 0;
+        try {
+            for (var name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regionName + ",*"), null)) {
+                evictions += ((Number) server.getAttribute(name, "CacheEvictions")).longValue();
+            }
+        } catch (JMException e) {
+            log.debug("JCache statistics of {} are unavailable", regionName, e);
+        }
+        return evictions;
+    }
+
+    public record RegionStatistics(long hits, long misses, long puts, long evictions) {
+    }
+}
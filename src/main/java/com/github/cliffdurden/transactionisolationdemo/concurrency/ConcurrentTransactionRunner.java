@@ -0,0 +1,132 @@
+package com.github.cliffdurden.transactionisolationdemo.concurrency;
+
+import com.github.cliffdurden.transactionisolationdemo.datasource.HikariPools;
+import com.github.cliffdurden.transactionisolationdemo.retry.SerializationFailures;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.*;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Runs many transactions concurrently, one virtual thread each when the JVM has them, released together.
+ * Without virtual threads a few platform threads per connection take turns.
+ * Transactions that synchronise on the {@link PhaseBarrier} hold a connection while they wait, so a run using the
+ * barrier can't have more transactions than the pool has connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConcurrentTransactionRunner {
+
+    private static final int PLATFORM_THREADS_PER_CONNECTION = 4;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final DataSource dataSource;
+
+    public RunReport run(int transactions, TransactionDefinition definition, TransactionWork work) {
+        var poolSize = poolSize();
+        var phaser = new Phaser(transactions);
+        var barrier = new PhaseBarrier(phaser, Duration.ofMillis(barrierTimeoutMillis()));
+        var startGate = new CountDownLatch(1);
+        var total = new long[transactions];
+        var connectionWait = new long[transactions];
+        var commits = new AtomicInteger();
+        var aborts = new AtomicInteger();
+        var failures = new AtomicInteger();
+        if (transactions > poolSize) {
+            log.info("{} transactions on a pool of {}: transactions using the phase barrier will time out", transactions, poolSize);
+        }
+
+        long started;
+        try (var executor = new ClosingExecutor(newExecutor(platformThreads(transactions, poolSize)))) {
+            var futures = IntStream.range(0, transactions)
+                    .mapToObj(index -> CompletableFuture.runAsync(() -> {
+                        awaitQuietly(startGate);
+                        ConnectionWaitTracker.resetCurrentThread();
+                        long start = System.nanoTime();
+                        try {
+                            execute(definition, work, index, barrier);
+                            commits.incrementAndGet();
+                        } catch (Exception e) {
+                            if (SerializationFailures.isRetryable(e)) {
+                                aborts.incrementAndGet();
+                            } else {
+                                failures.incrementAndGet();
+                                log.debug("Transaction {} failed", index, e);
+                            }
+                        } finally {
+                            barrier.leave();
+                            total[index] = System.nanoTime() - start;
+                            connectionWait[index] = ConnectionWaitTracker.currentThreadWaitNanos();
+                        }
+                    }, executor.executor()))
+                    .toArray(CompletableFuture[]::new);
+            started = System.nanoTime();
+            startGate.countDown();
+            CompletableFuture.allOf(futures).join();
+        }
+        var wallClock = Duration.ofNanos(System.nanoTime() - started);
+        var workTime = IntStream.range(0, transactions).mapToLong(i -> total[i] - connectionWait[i]).toArray();
+        return new RunReport(transactions, commits.get(), aborts.get(), failures.get(), poolSize, wallClock,
+                RunReport.Percentiles.of(total), RunReport.Percentiles.of(connectionWait), RunReport.Percentiles.of(workTime));
+    }
+
+    private void execute(TransactionDefinition definition, TransactionWork work, int index, PhaseBarrier barrier) throws Exception {
+        var status = transactionManager.getTransaction(definition);
+        try {
+            work.execute(index, barrier);
+        } catch (Exception | Error e) {
+            transactionManager.rollback(status);
+            throw e;
+        }
+        transactionManager.commit(status);
+    }
+
+    public int poolSize() {
+        return HikariPools.maximumPoolSize(dataSource);
+    }
+
+    private long barrierTimeoutMillis() {
+        return HikariPools.connectionTimeoutMillis(dataSource);
+    }
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()} on Java 21+, a fixed pool of {@code platformThreads} before
+     * that. Looked up reflectively because the project still compiles for Java 17.
+     */
+    static ExecutorService newExecutor(int platformThreads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+    }
+
+    /**
+     * A few threads per connection keep the pool busy; thousands of OS threads would only contend for it.
+     * Transactions beyond that wait in the executor's queue, which the per-transaction times don't include.
+     */
+    static int platformThreads(int transactions, int poolSize) {
+        return (int) Math.max(1, Math.min(transactions, (long) poolSize * PLATFORM_THREADS_PER_CONNECTION));
+    }
+
+    @SneakyThrows
+    private static void awaitQuietly(CountDownLatch latch) {
+        latch.await();
+    }
+
+    private record ClosingExecutor(ExecutorService executor) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.cliffdurden.transactionisolationdemo.concurrency;
+
+import com.zaxxer.hikari.metrics.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hikari metrics tracker that attributes connection acquisition time to the thread that waited for the connection.
+ * Hikari reports the acquisition on the thread calling {@code getConnection()}, which is the thread running the
+ * transaction, so a thread-local sum separates "blocked on the pool" from the rest of the transaction.
+ * Hikari takes a single tracker factory, so another one (e.g. Micrometer's) can be chained with {@link #setDelegate};
+ * it may be set after the pool has started.
+ */
+public class ConnectionWaitTracker implements MetricsTrackerFactory {
+
+    // IMetricsTracker methods are all no-op defaults
+    private static final IMetricsTracker NO_OP = new IMetricsTracker() {
+    };
+
+    private static final ThreadLocal<long[]> waitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private volatile MetricsTrackerFactory delegate;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public static long currentThreadWaitNanos() {
+        return waitNanos.get()[0];
+    }
+
+    public static void resetCurrentThread() {
+        waitNanos.get()[0] = 0;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void setDelegate(MetricsTrackerFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+
+            private volatile IMetricsTracker delegateTracker;
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                waitNanos.get()[0] += elapsedAcquiredNanos;
+                listeners.forEach(listener -> listener.connectionAcquired(poolName, elapsedAcquiredNanos));
+                delegate().recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                delegate().recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                delegate().recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                delegate().recordConnectionTimeout();
+            }
+
+            @Override
+            public synchronized void close() {
+                if (delegateTracker != null) {
+                    delegateTracker.close();
+                }
+            }
+
+            private IMetricsTracker delegate() {
+                var tracker = delegateTracker;
+                if (tracker != null) {
+                    return tracker;
+                }
+                var factory = delegate;
+                if (factory == null) {
+                    return NO_OP;
+                }
+                synchronized (this) {
+                    if (delegateTracker == null) {
+                        delegateTracker = factory.create(poolName, poolStats);
+                    }
+                    return delegateTracker;
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+
+        void connectionAcquired(String poolName, long elapsedNanos);
+    }
+}
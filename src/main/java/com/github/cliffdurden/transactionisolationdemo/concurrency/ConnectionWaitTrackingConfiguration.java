@@ -0,0 +1,30 @@
+package com.github.cliffdurden.transactionisolationdemo.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.*;
+
+@Configuration(proxyBeanMethods = false)
+public class ConnectionWaitTrackingConfiguration {
+
+    @Bean
+    static ConnectionWaitTracker connectionWaitTracker() {
+        return new ConnectionWaitTracker();
+    }
+
+    /**
+     * Hikari seals its configuration when the pool starts, so the tracker is installed before initialization.
+     */
+    @Bean
+    static BeanPostProcessor connectionWaitTrackerPostProcessor(ConnectionWaitTracker connectionWaitTracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+                    dataSource.setMetricsTrackerFactory(connectionWaitTracker);
+                }
+                return bean;
+            }
+        };
+    }
+}
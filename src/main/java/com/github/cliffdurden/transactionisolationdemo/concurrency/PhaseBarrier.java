@@ -0,0 +1,32 @@
+package com.github.cliffdurden.transactionisolationdemo.concurrency;
+
+import lombok.*;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Barrier shared by all transactions of one run, replacing hand-wired latch pairs.
+ * A transaction that finishes or fails leaves the barrier, so the others are never left waiting for it.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class PhaseBarrier {
+
+    private final Phaser phaser;
+
+    private final Duration timeout;
+
+    /**
+     * Waits until every transaction still running has arrived at the same phase.
+     *
+     * @return the number of the phase that has just started
+     */
+    @SneakyThrows({InterruptedException.class, TimeoutException.class})
+    public int arriveAndAwait() {
+        return phaser.awaitAdvanceInterruptibly(phaser.arrive(), timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void leave() {
+        phaser.arriveAndDeregister();
+    }
+}
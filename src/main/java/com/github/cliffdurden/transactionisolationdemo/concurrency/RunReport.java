@@ -0,0 +1,53 @@
+package com.github.cliffdurden.transactionisolationdemo.concurrency;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Outcome of a {@link ConcurrentTransactionRunner} run. Latencies are in nanoseconds;
+ * {@code connectionWait} is the time spent blocked on the pool, {@code work} the rest of the transaction.
+ */
+public record RunReport(int transactions,
+                        int commits,
+                        int aborts,
+                        int failures,
+                        int poolSize,
+                        Duration wallClock,
+                        Percentiles total,
+                        Percentiles connectionWait,
+                        Percentiles work) {
+
+    public double throughputPerSecond() {
+        return commits / Math.max(wallClock.toNanos() / 1e9, 1e-9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d transactions (%d committed, %d aborted, %d failed) on a pool of %d in %d ms, %.0f tx/s; "
+                        + "total %s, connection wait %s, work %s",
+                transactions, commits, aborts, failures, poolSize, wallClock.toMillis(), throughputPerSecond(),
+                total, connectionWait, work);
+    }
+
+    public record Percentiles(long p50, long p99, long max) {
+
+        static Percentiles of(long[] nanos) {
+            if (nanos.length == 0) {
+                return new Percentiles(0, 0, 0);
+            }
+            var sorted = nanos.clone();
+            Arrays.sort(sorted);
+            return new Percentiles(at(sorted, 0.50), at(sorted, 0.99), sorted[sorted.length - 1]);
+        }
+
+        private static long at(long[] sorted, double quantile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("p50=%.2fms p99=%.2fms max=%.2fms", p50 / 1e6, p99 / 1e6, max / 1e6);
+        }
+    }
+}
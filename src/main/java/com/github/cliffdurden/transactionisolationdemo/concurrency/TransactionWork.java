@@ -0,0 +1,13 @@
+package com.github.cliffdurden.transactionisolationdemo.concurrency;
+
+@FunctionalInterface
+public interface TransactionWork {
+
+    /**
+     * Runs inside the transaction.
+     *
+     * @param index   number of the transaction within the run, from 0
+     * @param barrier phases shared with the other transactions of the run
+     */
+    void execute(int index, PhaseBarrier barrier) throws Exception;
+}
@@ -0,0 +1,52 @@
+package com.github.cliffdurden.transactionisolationdemo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * The Hikari pools behind a data source, for callers that hold several connections at once.
+ * A routing data source contributes all of its targets: {@code isWrapperFor}/{@code unwrap} would resolve only the
+ * current one, and with {@link ReadWriteRoutingDataSource} that also counts as a write inside a transaction.
+ */
+public final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    public static List<HikariDataSource> hikariPools(DataSource dataSource) {
+        while (dataSource instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            dataSource = delegating.getTargetDataSource();
+        }
+        if (dataSource instanceof AbstractRoutingDataSource routing) {
+            return routing.getResolvedDataSources().values().stream()
+                    .flatMap(target -> hikariPools(target).stream())
+                    .toList();
+        }
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? List.of(dataSource.unwrap(HikariDataSource.class))
+                    : List.of();
+        } catch (SQLException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * The smallest pool a connection may come from, {@code Integer.MAX_VALUE} when there's no Hikari pool.
+     */
+    public static int maximumPoolSize(DataSource dataSource) {
+        return hikariPools(dataSource).stream().mapToInt(HikariDataSource::getMaximumPoolSize).min().orElse(Integer.MAX_VALUE);
+    }
+
+    /**
+     * The longest a caller may wait for a connection, 30s (Hikari's default) when there's no Hikari pool.
+     */
+    public static long connectionTimeoutMillis(DataSource dataSource) {
+        return hikariPools(dataSource).stream().mapToLong(HikariDataSource::getConnectionTimeout).max().orElse(30_000L);
+    }
+}
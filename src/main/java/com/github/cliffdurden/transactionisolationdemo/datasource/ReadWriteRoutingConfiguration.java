@@ -0,0 +1,64 @@
+package com.github.cliffdurden.transactionisolationdemo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.*;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.*;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Objects;
+
+/**
+ * Replaces the auto-configured {@code DataSource} with a primary/replica pair when
+ * {@code demo.datasource.routing.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ReadWriteRoutingProperties.class)
+@ConditionalOnProperty("demo.datasource.routing.enabled")
+public class ReadWriteRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("demo.datasource.routing.replica.hikari")
+    public HikariDataSource replicaDataSource(ReadWriteRoutingProperties routing, DataSourceProperties primary) {
+        var replica = routing.getReplica();
+        var dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(Objects.requireNonNullElse(replica.getUsername(), primary.determineUsername()))
+                .password(Objects.requireNonNullElse(replica.getPassword(), primary.determinePassword()))
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource replicaDataSource, ReadWriteRoutingProperties routing) {
+        return new ReplicaLagMonitor(replicaDataSource, routing.getMaxReplicaLag());
+    }
+
+    @Bean
+    public SchedulingConfigurer replicaLagMonitorSchedule(ReplicaLagMonitor monitor, ReadWriteRoutingProperties routing) {
+        return registrar -> registrar.addFixedDelayTask(monitor::check, routing.getLagCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadWriteRoutingProperties routing) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, routing.getStickyWindow()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.cliffdurden.transactionisolationdemo.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.*;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica, everything else to the primary.
+ * The decision is taken when a connection is fetched, so it has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction manager asks for a
+ * connection before the read-only flag of the transaction is published.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {PRIMARY, REPLICA}
+
+    // per thread: a caller reads its own writes, other callers may still see the replica's state
+    private static final ThreadLocal<Long> lastWriteCommittedAt = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final long stickyWindowNanos;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, Duration stickyWindow) {
+        this.lagMonitor = lagMonitor;
+        this.stickyWindowNanos = stickyWindow.toNanos();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit();
+            return Route.PRIMARY;
+        }
+        if (isSticky() || !lagMonitor.isReplicaUsable()) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private boolean isSticky() {
+        var committedAt = lastWriteCommittedAt.get();
+        return committedAt != null && System.nanoTime() - committedAt < stickyWindowNanos;
+    }
+
+    private void rememberWriteOnCommit() {
+        if (stickyWindowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteCommittedAt.set(System.nanoTime());
+            }
+        });
+    }
+}
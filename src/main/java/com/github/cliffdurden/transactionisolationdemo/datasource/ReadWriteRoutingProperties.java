@@ -0,0 +1,48 @@
+package com.github.cliffdurden.transactionisolationdemo.datasource;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("demo.datasource.routing")
+public class ReadWriteRoutingProperties {
+
+    private boolean enabled;
+
+    /**
+     * Read-only transactions of a thread stay on the primary for this long after it committed a write.
+     */
+    private Duration stickyWindow = Duration.ofSeconds(1);
+
+    /**
+     * Read-only transactions fall back to the primary while the replica is further behind than this.
+     */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /**
+     * Delay between the end of one replica lag check and the start of the next.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+    private final Replica replica = new Replica();
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        /**
+         * Defaults to {@code spring.datasource.username}.
+         */
+        private String username;
+
+        /**
+         * Defaults to {@code spring.datasource.password}.
+         */
+        private String password;
+    }
+}
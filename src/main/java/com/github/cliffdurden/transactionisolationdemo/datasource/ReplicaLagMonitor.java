@@ -0,0 +1,57 @@
+package com.github.cliffdurden.transactionisolationdemo.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the replica is behind the primary.
+ * A replica that can't be reached counts as lagging, so reads fall back to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // an idle primary doesn't advance the replay timestamp, so "everything received is replayed" means no lag
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   END
+            """;
+
+    private final JdbcTemplate replica;
+
+    private final Duration maxLag;
+
+    private volatile Duration lag = Duration.ZERO;
+
+    private volatile boolean reachable = true;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+    }
+
+    public void check() {
+        try {
+            var lagMillis = replica.queryForObject(LAG_SQL, Double.class);
+            lag = Duration.ofMillis(lagMillis == null ? 0 : lagMillis.longValue());
+            reachable = true;
+        } catch (RuntimeException e) {
+            if (reachable) {
+                log.warn("Replica lag check failed, routing reads to the primary", e);
+            }
+            reachable = false;
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return reachable && lag.compareTo(maxLag) <= 0;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+}
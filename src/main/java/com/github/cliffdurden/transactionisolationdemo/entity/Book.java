@@ -2,8 +2,15 @@ package com.github.cliffdurden.transactionisolationdemo.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import java.time.Instant;
 
 @Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Book.CACHE_REGION)
 @Builder
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @NoArgsConstructor
@@ -12,8 +19,33 @@ import lombok.*;
 @ToString
 public class Book {
 
+    public static final String ID_SEQUENCE = "book_seq";
+
+    public static final String CACHE_REGION = "book";
+
+    /**
+     * Created by {@code V1__create_book.sql}. Serves rating ranges in both directions, keyset pages on
+     * {@code (rating, id)}, and covers {@link com.github.cliffdurden.transactionisolationdemo.repository.BookSummary}
+     * so they can be answered by an index-only scan.
+     */
+    public static final String RATING_INDEX = "idx_book_rating_id_title";
+
+    /**
+     * Every {@code nextval} reserves this many ids, {@code [value, value + ID_ALLOCATION_SIZE)} (pooled-lo optimizer).
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(generator = ID_SEQUENCE)
+    @GenericGenerator(
+            name = ID_SEQUENCE,
+            strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+            parameters = {
+                    @Parameter(name = "sequence_name", value = ID_SEQUENCE),
+                    @Parameter(name = "increment_size", value = "" + ID_ALLOCATION_SIZE),
+                    @Parameter(name = "optimizer", value = "pooled-lo")
+            }
+    )
     private Long id;
 
     private String title;
@@ -22,4 +54,17 @@ public class Book {
 
     private Integer rating;
 
+    /**
+     * When the rating has last been recalculated by a {@code BookWorkQueue} worker; {@code null} if never.
+     */
+    private Instant ratingRecalculatedAt;
+
+    /**
+     * Bumped by the rating updates of {@code BookRepository}, which {@code BookServiceDemoImpl.incrementRatingOptimistically}
+     * checks. Not a JPA {@code @Version}: writes through the entity neither check nor bump it, so read-modify-write of a
+     * managed book still loses concurrent updates.
+     */
+    @Column(insertable = false, updatable = false)
+    private Long version;
+
 }
@@ -0,0 +1,141 @@
+package com.github.cliffdurden.transactionisolationdemo.metrics;
+
+import io.micrometer.core.instrument.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.*;
+import org.springframework.transaction.annotation.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every transaction the wrapped transaction manager begins, commit or rollback included, whoever started it:
+ * {@code @Transactional} methods, {@code TransactionTemplate}s or direct {@link #getTransaction} calls. The outcome
+ * tag is what happened in the database, so committing a rollback-only transaction, or one whose commit fails,
+ * counts as a rollback. Transactions that join an outer one are part of its sample.
+ * Tags come from the transaction definition; {@code method} is its name, which {@code @Transactional} sets.
+ */
+@RequiredArgsConstructor
+public class MeteredTransactionManager implements PlatformTransactionManager {
+
+    public static final String TRANSACTION_TIMER = "book.transaction";
+
+    private static final Tags NO_TRANSACTION =
+            Tags.of("isolation", Isolation.DEFAULT.name(), "propagation", "NONE", "method", "none", "read_only", "false");
+
+    private static final ThreadLocal<Tags> currentTransaction = new ThreadLocal<>();
+
+    private final PlatformTransactionManager delegate;
+
+    private final MeterRegistry registry;
+
+    private final Map<TransactionStatus, Recording> recordings = new ConcurrentHashMap<>();
+
+    /**
+     * Tags of the transaction running on this thread, for meters recorded deeper in the stack.
+     */
+    public static Tags currentTransactionTags() {
+        var tags = currentTransaction.get();
+        return tags != null ? tags : NO_TRANSACTION;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) throws TransactionException {
+        var tags = tags(definition != null ? definition : TransactionDefinition.withDefaults());
+        var outer = currentTransaction.get();
+        // set before beginning: the connection acquired on begin is attributed to these tags
+        currentTransaction.set(tags);
+        var sample = Timer.start(registry);
+        TransactionStatus status;
+        try {
+            status = delegate.getTransaction(definition);
+        } catch (RuntimeException | Error e) {
+            restore(outer);
+            throw e;
+        }
+        if (status.isNewTransaction()) {
+            recordings.put(status, new Recording(tags, outer, sample));
+        } else {
+            restore(outer);
+        }
+        return status;
+    }
+
+    @Override
+    public void commit(TransactionStatus status) throws TransactionException {
+        var recording = recordings.remove(status);
+        if (recording == null) {
+            delegate.commit(status);
+            return;
+        }
+        var outcome = status.isRollbackOnly() ? "rollback" : "commit";
+        try {
+            delegate.commit(status);
+        } catch (RuntimeException | Error e) {
+            outcome = "rollback";
+            throw e;
+        } finally {
+            stop(recording, outcome);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) throws TransactionException {
+        var recording = recordings.remove(status);
+        try {
+            delegate.rollback(status);
+        } finally {
+            if (recording != null) {
+                stop(recording, "rollback");
+            }
+        }
+    }
+
+    private void stop(Recording recording, String outcome) {
+        recording.sample().stop(Timer.builder(TRANSACTION_TIMER)
+                .tags(recording.tags())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+        restore(recording.outer());
+    }
+
+    private static void restore(Tags outer) {
+        if (outer == null) {
+            currentTransaction.remove();
+        } else {
+            currentTransaction.set(outer);
+        }
+    }
+
+    private static Tags tags(TransactionDefinition definition) {
+        return Tags.of(
+                "isolation", Arrays.stream(Isolation.values())
+                        .filter(isolation -> isolation.value() == definition.getIsolationLevel())
+                        .findFirst().orElse(Isolation.DEFAULT).name(),
+                "propagation", Arrays.stream(Propagation.values())
+                        .filter(propagation -> propagation.value() == definition.getPropagationBehavior())
+                        .findFirst().orElse(Propagation.REQUIRED).name(),
+                "method", method(definition.getName()),
+                "read_only", String.valueOf(definition.isReadOnly()));
+    }
+
+    /**
+     * {@code com.example.BookService.update} or {@code com.example.Outer$BookService.update} to {@code BookService.update}.
+     */
+    static String method(String name) {
+        if (name == null || name.isEmpty()) {
+            return "none";
+        }
+        int methodDot = name.lastIndexOf('.');
+        if (methodDot <= 0) {
+            return name;
+        }
+        int classStart = Math.max(name.lastIndexOf('.', methodDot - 1), name.lastIndexOf('$', methodDot - 1)) + 1;
+        return name.substring(classStart);
+    }
+
+    private record Recording(Tags tags, Tags outer, Timer.Sample sample) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.cliffdurden.transactionisolationdemo.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Local {@code /metrics} endpoint in Prometheus text format. The demo has no web stack, so the JDK HTTP server is used.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("demo.metrics.prometheus.port")
+@RequiredArgsConstructor
+public class PrometheusScrapeEndpoint implements SmartLifecycle {
+
+    private final PrometheusMeterRegistry registry;
+
+    @Value("${demo.metrics.prometheus.port}")
+    private int port;
+
+    private HttpServer server;
+
+    @Override
+    @SneakyThrows
+    public void start() {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/metrics", exchange -> {
+            var body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        log.info("Prometheus metrics on http://localhost:{}/metrics", server.getAddress().getPort());
+    }
+
+    @Override
+    public void stop() {
+        server.stop(0);
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.cliffdurden.transactionisolationdemo.metrics;
+
+import com.github.cliffdurden.transactionisolationdemo.retry.SerializationFailures;
+import io.micrometer.core.instrument.*;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.*;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts serialization failures and deadlocks of transactions started by a {@code @Transactional} method, tagged by
+ * isolation level, propagation and method; {@link MeteredTransactionManager} times them. The transaction manager
+ * only sees that a transaction rolls back, not why, so the causes are counted where the exception surfaces.
+ * Ordered inside the retry aspect, so every attempt is counted.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class TransactionMetricsAspect {
+
+    public static final String SERIALIZATION_FAILURES = "book.transaction.serialization.failures";
+
+    public static final String DEADLOCKS = "book.transaction.deadlocks";
+
+    private final MeterRegistry registry;
+
+    @Around("@annotation(transactional)")
+    public Object record(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (joinsExistingTransaction(transactional.propagation())) {
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            countFailure(e, Tags.of(
+                    "isolation", transactional.isolation().name(),
+                    "propagation", transactional.propagation().name(),
+                    "method", joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+                    "read_only", String.valueOf(transactional.readOnly())));
+            throw e;
+        }
+    }
+
+    private void countFailure(Throwable e, Tags tags) {
+        SerializationFailures.sqlState(e).ifPresent(state -> {
+            if (SerializationFailures.SERIALIZATION_FAILURE.equals(state)) {
+                registry.counter(SERIALIZATION_FAILURES, tags).increment();
+            } else if (SerializationFailures.DEADLOCK_DETECTED.equals(state)) {
+                registry.counter(DEADLOCKS, tags).increment();
+            }
+        });
+    }
+
+    private static boolean joinsExistingTransaction(Propagation propagation) {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && propagation != Propagation.REQUIRES_NEW
+                && propagation != Propagation.NOT_SUPPORTED
+                && propagation != Propagation.NEVER;
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.cliffdurden.transactionisolationdemo.metrics;
+
+import com.github.cliffdurden.transactionisolationdemo.concurrency.ConnectionWaitTracker;
+import com.github.cliffdurden.transactionisolationdemo.retry.SerializationFailureRetryAspect;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.logging.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration(proxyBeanMethods = false)
+public class TransactionMetricsConfiguration {
+
+    public static final String CONNECTION_ACQUIRE_TIMER = "book.connection.acquire";
+
+    /**
+     * Wraps the transaction manager after initialization; the registry is looked up only then.
+     */
+    @Bean
+    static BeanPostProcessor meteredTransactionManagerPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof PlatformTransactionManager transactionManager
+                        && !(bean instanceof MeteredTransactionManager)) {
+                    return new MeteredTransactionManager(transactionManager, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Connection acquisition wait tagged like the transaction that waited, plus the regular Hikari pool metrics,
+     * which Spring Boot can't bind itself because the pool already has a tracker factory.
+     */
+    @Bean
+    public MeterBinder connectionAcquisitionMetrics(ConnectionWaitTracker connectionWaitTracker) {
+        return registry -> {
+            connectionWaitTracker.setDelegate(new MicrometerMetricsTrackerFactory(registry));
+            connectionWaitTracker.addListener((poolName, elapsedNanos) -> Timer.builder(CONNECTION_ACQUIRE_TIMER)
+                    .tags(MeteredTransactionManager.currentTransactionTags())
+                    .tag("pool", poolName)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS));
+        };
+    }
+
+    @Bean
+    public MeterBinder retryMetrics(SerializationFailureRetryAspect retryAspect) {
+        return registry -> {
+            FunctionCounter.builder("book.transaction.retries", retryAspect, SerializationFailureRetryAspect::getRetries)
+                    .register(registry);
+            FunctionCounter.builder("book.transaction.retry.give.ups", retryAspect, SerializationFailureRetryAspect::getGiveUps)
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Periodic log output of all meters, for runs without a Prometheus scraper.
+     */
+    @Bean
+    @ConditionalOnProperty("demo.metrics.log-reporter.enabled")
+    public LoggingMeterRegistry loggingMeterRegistry(
+            @Value("${demo.metrics.log-reporter.step:PT1M}") Duration step) {
+        return new LoggingMeterRegistry(new LoggingRegistryConfig() {
+            @Override
+            public String get(String key) {
+                return null;
+            }
+
+            @Override
+            public Duration step() {
+                return step;
+            }
+        }, Clock.SYSTEM);
+    }
+}
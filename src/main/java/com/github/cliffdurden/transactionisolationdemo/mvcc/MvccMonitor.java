@@ -0,0 +1,201 @@
+package com.github.cliffdurden.transactionisolationdemo.mvcc;
+
+import com.github.cliffdurden.transactionisolationdemo.mvcc.MvccMonitorProperties.LongTransactionAction;
+import io.micrometer.core.instrument.*;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches what keeps vacuum from cleaning up: transactions that stay open, the xmin horizon they pin, and the dead
+ * tuples that pile up meanwhile. Samples {@code pg_stat_activity} and {@code pg_stat_user_tables} of the current
+ * database, publishes the results as gauges, and warns about, cancels or terminates transactions older than
+ * {@code demo.mvcc-monitor.long-transaction-age}. Its own session is never touched, and cancelling or terminating is
+ * limited to the sessions of {@code demo.mvcc-monitor.action-application-names}. Scheduled every
+ * {@code demo.mvcc-monitor.interval} by {@link MvccMonitorConfiguration}.
+ */
+@Slf4j
+public class MvccMonitor {
+
+    public static final String OLDEST_TRANSACTION_AGE = "book.mvcc.oldest.transaction.age";
+
+    public static final String XMIN_HORIZON_AGE = "book.mvcc.xmin.horizon.age";
+
+    public static final String LONG_TRANSACTIONS = "book.mvcc.long.transactions";
+
+    public static final String DEAD_TUPLES = "book.mvcc.dead.tuples";
+
+    public static final String DEAD_TUPLE_GROWTH = "book.mvcc.dead.tuples.growth";
+
+    public static final String LONG_TRANSACTION_ACTIONS = "book.mvcc.long.transaction.actions";
+
+    private static final String TRANSACTIONS_SQL = """
+            SELECT pid, usename, application_name, state,
+                   EXTRACT(EPOCH FROM clock_timestamp() - xact_start) * 1000 AS age_millis,
+                   age(backend_xmin) AS xmin_age,
+                   left(query, 200) AS query
+            FROM pg_stat_activity
+            WHERE datname = current_database()
+              AND backend_type = 'client backend'
+              AND pid <> pg_backend_pid()
+              AND xact_start IS NOT NULL
+            ORDER BY xact_start
+            """;
+
+    // replication slots and prepared transactions hold the horizon back just like sessions do
+    private static final String HORIZON_SQL = """
+            SELECT greatest(
+                       (SELECT max(age(backend_xmin)) FROM pg_stat_activity WHERE pid <> pg_backend_pid()),
+                       (SELECT max(greatest(age(xmin), age(catalog_xmin))) FROM pg_replication_slots),
+                       (SELECT max(age(transaction)) FROM pg_prepared_xacts))
+            """;
+
+    private static final String TABLES_SQL = """
+            SELECT relname, n_dead_tup
+            FROM pg_stat_user_tables
+            WHERE relname = ANY (?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MvccMonitorProperties properties;
+
+    private final MeterRegistry registry;
+
+    @Getter
+    private volatile Duration oldestTransactionAge = Duration.ZERO;
+
+    @Getter
+    private volatile long xminHorizonAge;
+
+    @Getter
+    private volatile int longTransactions;
+
+    private final Map<String, TableSample> tables = new ConcurrentHashMap<>();
+
+    public MvccMonitor(DataSource dataSource, MvccMonitorProperties properties, MeterRegistry registry) {
+        if (properties.getAction() != LongTransactionAction.WARN && properties.getActionApplicationNames().isEmpty()) {
+            throw new IllegalStateException("demo.mvcc-monitor.action=" + properties.getAction()
+                    + " requires demo.mvcc-monitor.action-application-names");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.registry = registry;
+        TimeGauge.builder(OLDEST_TRANSACTION_AGE, this, TimeUnit.MILLISECONDS, monitor -> monitor.oldestTransactionAge.toMillis())
+                .register(registry);
+        Gauge.builder(XMIN_HORIZON_AGE, this, MvccMonitor::getXminHorizonAge)
+                .baseUnit("transactions")
+                .register(registry);
+        Gauge.builder(LONG_TRANSACTIONS, this, MvccMonitor::getLongTransactions)
+                .register(registry);
+    }
+
+    public void sample() {
+        try {
+            sampleHorizon(); // before any long transaction is ended
+            sampleTransactions();
+            sampleTables();
+        } catch (RuntimeException e) {
+            log.warn("MVCC monitor sample failed", e);
+        }
+    }
+
+    /**
+     * Dead tuples of {@code table} at the last sample, empty if it isn't tracked or hasn't been sampled yet.
+     */
+    public OptionalLong getDeadTuples(String table) {
+        var sample = tables.get(table);
+        return sample == null ? OptionalLong.empty() : OptionalLong.of(sample.deadTuples);
+    }
+
+    private void sampleTransactions() {
+        var threshold = properties.getLongTransactionAge().toMillis();
+        var transactions = jdbcTemplate.queryForList(TRANSACTIONS_SQL);
+        oldestTransactionAge = transactions.isEmpty()
+                ? Duration.ZERO
+                : Duration.ofMillis(((Number) transactions.get(0).get("age_millis")).longValue());
+        int count = 0;
+        for (var transaction : transactions) {
+            long ageMillis = ((Number) transaction.get("age_millis")).longValue();
+            if (ageMillis < threshold) {
+                break; // oldest first
+            }
+            count++;
+            handleLongTransaction(transaction, Duration.ofMillis(ageMillis));
+        }
+        longTransactions = count;
+    }
+
+    private void handleLongTransaction(Map<String, Object> transaction, Duration age) {
+        var pid = ((Number) transaction.get("pid")).intValue();
+        var action = properties.getAction();
+        log.warn("Transaction of pid {} ({}, {}, {}) open for {} s, holding xmin back by {} transactions: {}",
+                pid, transaction.get("usename"), transaction.get("application_name"), transaction.get("state"),
+                age.toSeconds(), transaction.get("xmin_age"), transaction.get("query"));
+        if (action == LongTransactionAction.WARN || !actionAllowed(transaction)) {
+            return;
+        }
+        var function = action == LongTransactionAction.CANCEL ? "pg_cancel_backend" : "pg_terminate_backend";
+        var signalled = jdbcTemplate.queryForObject("SELECT " + function + "(?)", Boolean.class, pid);
+        log.warn("{} of pid {}: {}", action, pid, Boolean.TRUE.equals(signalled) ? "signalled" : "already gone");
+        registry.counter(LONG_TRANSACTION_ACTIONS, "action", action.name()).increment();
+    }
+
+    private boolean actionAllowed(Map<String, Object> transaction) {
+        return properties.getActionApplicationNames().contains((String) transaction.get("application_name"))
+                && !properties.getProtectedUsers().contains((String) transaction.get("usename"));
+    }
+
+    private void sampleHorizon() {
+        var age = jdbcTemplate.queryForObject(HORIZON_SQL, Long.class);
+        xminHorizonAge = age == null ? 0 : age;
+    }
+
+    private void sampleTables() {
+        var now = System.nanoTime();
+        jdbcTemplate.query(TABLES_SQL, row -> {
+            var table = row.getString("relname");
+            var deadTuples = row.getLong("n_dead_tup");
+            var sample = tables.computeIfAbsent(table, this::registerTable);
+            sample.update(deadTuples, now);
+        }, (Object) properties.getTables().toArray(String[]::new));
+    }
+
+    private TableSample registerTable(String table) {
+        var sample = new TableSample();
+        Gauge.builder(DEAD_TUPLES, sample, s -> s.deadTuples)
+                .tag("table", table)
+                .register(registry);
+        Gauge.builder(DEAD_TUPLE_GROWTH, sample, s -> s.growthPerSecond)
+                .tag("table", table)
+                .baseUnit("tuples/s")
+                .register(registry);
+        return sample;
+    }
+
+    private static class TableSample {
+
+        private volatile long deadTuples;
+
+        private volatile double growthPerSecond;
+
+        private long sampledAtNanos;
+
+        private boolean sampled;
+
+        void update(long deadTuples, long nowNanos) {
+            if (sampled && nowNanos > sampledAtNanos) {
+                growthPerSecond = (deadTuples - this.deadTuples) * 1e9 / (nowNanos - sampledAtNanos);
+            }
+            this.deadTuples = deadTuples;
+            this.sampledAtNanos = nowNanos;
+            this.sampled = true;
+        }
+    }
+}
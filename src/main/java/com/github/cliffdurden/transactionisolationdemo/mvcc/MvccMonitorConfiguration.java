@@ -0,0 +1,25 @@
+package com.github.cliffdurden.transactionisolationdemo.mvcc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.*;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+import javax.sql.DataSource;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MvccMonitorProperties.class)
+@ConditionalOnProperty("demo.mvcc-monitor.enabled")
+public class MvccMonitorConfiguration {
+
+    @Bean
+    public MvccMonitor mvccMonitor(DataSource dataSource, MvccMonitorProperties properties, MeterRegistry registry) {
+        return new MvccMonitor(dataSource, properties, registry);
+    }
+
+    @Bean
+    public SchedulingConfigurer mvccMonitorSchedule(MvccMonitor monitor, MvccMonitorProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(monitor::sample, properties.getInterval());
+    }
+}
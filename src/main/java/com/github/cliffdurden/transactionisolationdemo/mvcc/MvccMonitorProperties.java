@@ -0,0 +1,65 @@
+package com.github.cliffdurden.transactionisolationdemo.mvcc;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.*;
+
+@Getter
+@Setter
+@ConfigurationProperties("demo.mvcc-monitor")
+public class MvccMonitorProperties {
+
+    /**
+     * Off by default, so test and benchmark contexts never cancel or terminate sessions.
+     */
+    private boolean enabled;
+
+    /**
+     * Delay between the end of one sample and the start of the next.
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * Transactions open for longer than this are logged and counted as long-running.
+     */
+    private Duration longTransactionAge = Duration.ofMinutes(1);
+
+    /**
+     * What happens to long-running transactions besides the warning.
+     */
+    private LongTransactionAction action = LongTransactionAction.WARN;
+
+    /**
+     * CANCEL and TERMINATE only act on sessions with one of these {@code application_name}s, and require at least one.
+     * Other long transactions are just logged.
+     */
+    private Set<String> actionApplicationNames = new HashSet<>();
+
+    /**
+     * Sessions of these users are never cancelled or terminated, whatever their application name.
+     */
+    private Set<String> protectedUsers = new HashSet<>();
+
+    /**
+     * Tables whose dead tuples are tracked.
+     */
+    private List<String> tables = List.of("book");
+
+    public enum LongTransactionAction {
+
+        WARN,
+
+        /**
+         * Cancels the running statement ({@code pg_cancel_backend}); the transaction fails, the session stays.
+         * Has no effect on sessions that are idle in transaction.
+         */
+        CANCEL,
+
+        /**
+         * Closes the session ({@code pg_terminate_backend}), which also ends transactions idle in between statements.
+         */
+        TERMINATE
+    }
+}
@@ -2,11 +2,224 @@ package com.github.cliffdurden.transactionisolationdemo.repository;
 
 
 import com.github.cliffdurden.transactionisolationdemo.entity.Book;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    String RATING_STRIPE_TABLE = "book_rating_stripe";
+
+    int STREAM_FETCH_SIZE = 1000;
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Book> findAllByRatingGreaterThan(Integer rating);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    Slice<Book> findAllByRatingGreaterThan(Integer rating, Pageable pageable);
+
+    /**
+     * Has to be consumed inside a transaction and closed; the caller should detach consumed books.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Book b order by b.id")
+    Stream<Book> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Book> streamAllByRatingGreaterThanOrderById(Integer rating);
+
+    /**
+     * Keyset ("seek") pagination over {@code (rating, id)}: the cost of a page doesn't depend on how deep it is.
+     * The first page starts after {@code (minRating, Long.MIN_VALUE)}. Rating is mutable: pages read in separate
+     * transactions skip a book whose rating moves behind the keyset in between, and return it again when it moves ahead.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            select b from Book b
+            where b.rating > :minRating
+              and (b.rating > :afterRating or (b.rating = :afterRating and b.id > :afterId))
+            order by b.rating, b.id
+            """)
+    List<Book> findPageAfter(@Param("minRating") Integer minRating,
+                             @Param("afterRating") Integer afterRating,
+                             @Param("afterId") Long afterId,
+                             Pageable pageable);
+
+    List<BookSummary> findSummariesByRatingGreaterThan(Integer rating);
+
+    /**
+     * Best books above {@code rating}, as many as {@code pageable} asks for.
+     * Ties are broken by {@code id desc} so the whole order is a backward scan of the rating index.
+     */
+    @Query("""
+            select new com.github.cliffdurden.transactionisolationdemo.repository.BookSummary(b.id, b.title, b.rating)
+            from Book b
+            where b.rating > :rating
+            order by b.rating desc, b.id desc
+            """)
+    List<BookSummary> findBestAbove(@Param("rating") Integer rating, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Book> findWithLockById(Long id);
+
+    /**
+     * Limits how long lock waits of the current transaction may take, e.g. {@code "2s"}; {@code "0"} waits forever.
+     * PostgreSQL has no per-statement lock timeout in {@code FOR UPDATE}, so it's a transaction-local setting.
+     */
+    @Query(value = "SELECT set_config('lock_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalLockTimeout(@Param("timeout") String timeout);
+
+    /**
+     * Claims books whose rating has never been recalculated, in id order: {@code FOR UPDATE SKIP LOCKED}, so concurrent
+     * callers get disjoint batches without waiting for each other. The partial index {@code idx_book_not_recalculated}
+     * only holds unprocessed books, so claims don't rescan finished work.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("select b from Book b where b.ratingRecalculatedAt is null order by b.id")
+    List<Book> claimNotRecalculated(Pageable pageable);
+
+    /**
+     * Like {@link #claimNotRecalculated}, for books last recalculated before {@code before}, least recently
+     * recalculated first ({@code idx_book_rating_recalculated_at}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_SPEC_LOCK_TIMEOUT, value = "" + LockOptions.SKIP_LOCKED))
+    @Query("select b from Book b where b.ratingRecalculatedAt < :before order by b.ratingRecalculatedAt, b.id")
+    List<Book> claimRecalculatedBefore(@Param("before") Instant before, Pageable pageable);
+
+    @Query("select b from Book b where b.ratingRecalculatedAt is null order by b.id")
+    List<Book> findNotRecalculated(Pageable pageable);
+
+    @Query("select b from Book b where b.ratingRecalculatedAt < :before order by b.ratingRecalculatedAt, b.id")
+    List<Book> findRecalculatedBefore(@Param("before") Instant before, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.rating = :rating, b.version = b.version + 1 where b.id = :id")
+    int updateRating(@Param("id") Long id, @Param("rating") Integer rating);
+
+    /**
+     * Compare-and-set: only applies if the version is still the one the caller has read.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Book b set b.rating = :rating, b.version = b.version + 1
+            where b.id = :id and b.version = :version
+            """)
+    int updateRatingIfVersion(@Param("id") Long id, @Param("rating") Integer rating, @Param("version") Long version);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.rating = b.rating + :delta, b.version = b.version + 1 where b.id = :id")
+    int incrementRating(@Param("id") Long id, @Param("delta") Integer delta);
+
+    /**
+     * Integer arithmetic: {@code rating * numerator / denominator}, truncated.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Book b set b.rating = b.rating * :numerator / :denominator, b.version = b.version + 1
+            where b.id in :ids
+            """)
+    int rescaleRatings(@Param("ids") Collection<Long> ids, @Param("numerator") int numerator, @Param("denominator") int denominator);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Book b set b.rating = 0, b.ratingRecalculatedAt = null, b.version = b.version + 1 where b.id in :ids")
+    int resetRatings(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = RATING_STRIPE_TABLE))
+    @Query(value = "DELETE FROM book_rating_stripe WHERE book_id IN (:ids)", nativeQuery = true)
+    int deleteRatingStripes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Takes an {@code ACCESS EXCLUSIVE} lock on the book table until the transaction ends.
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "book"),
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = RATING_STRIPE_TABLE)
+    })
+    @Query(value = "TRUNCATE TABLE book CASCADE", nativeQuery = true)
+    void truncate();
+
+    /**
+     * Adds {@code delta} to one stripe of the book's rating. Concurrent increments of different stripes don't wait
+     * for each other; the foreign key only takes a {@code KEY SHARE} lock on the book row.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = RATING_STRIPE_TABLE))
+    @Query(value = """
+            INSERT INTO book_rating_stripe (book_id, stripe, delta) VALUES (:id, :stripe, :delta)
+            ON CONFLICT (book_id, stripe) DO UPDATE SET delta = book_rating_stripe.delta + EXCLUDED.delta
+            """, nativeQuery = true)
+    int incrementRatingStripe(@Param("id") Long id, @Param("stripe") int stripe, @Param("delta") int delta);
+
+    /**
+     * Compacted rating plus everything not yet compacted.
+     */
+    @Query(value = """
+            SELECT b.rating + COALESCE((SELECT SUM(s.delta) FROM book_rating_stripe s WHERE s.book_id = b.id), 0)
+            FROM book b
+            WHERE b.id = :id
+            """, nativeQuery = true)
+    Optional<Long> findStripedRating(@Param("id") Long id);
+
+    /**
+     * Moves all stripes into {@code book.rating} in one statement, bumping the version like any other rating change.
+     * Increments arriving meanwhile wait for the deleted stripes and then start new ones.
+     *
+     * @return number of updated books
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "book"),
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = RATING_STRIPE_TABLE)
+    })
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM book_rating_stripe RETURNING book_id, delta
+            ), totals AS (
+                SELECT book_id, SUM(delta) AS delta FROM drained GROUP BY book_id
+            )
+            UPDATE book b
+            SET rating = b.rating + t.delta, version = b.version + 1
+            FROM totals t
+            WHERE b.id = t.book_id
+            """, nativeQuery = true)
+    int compactRatingStripes();
+
+    /**
+     * {@link #compactRatingStripes()} for the given books only.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "book"),
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = RATING_STRIPE_TABLE)
+    })
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM book_rating_stripe WHERE book_id IN (:ids) RETURNING book_id, delta
+            ), totals AS (
+                SELECT book_id, SUM(delta) AS delta FROM drained GROUP BY book_id
+            )
+            UPDATE book b
+            SET rating = b.rating + t.delta, version = b.version + 1
+            FROM totals t
+            WHERE b.id = t.book_id
+            """, nativeQuery = true)
+    int compactRatingStripes(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,7 @@
+package com.github.cliffdurden.transactionisolationdemo.repository;
+
+/**
+ * Read-only projection of a book: not managed, no dirty checking, and every column is in the rating index.
+ */
+public record BookSummary(Long id, String title, Integer rating) {
+}
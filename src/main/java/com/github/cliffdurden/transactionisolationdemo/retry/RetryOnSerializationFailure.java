@@ -0,0 +1,27 @@
+package com.github.cliffdurden.transactionisolationdemo.retry;
+
+import java.lang.annotation.*;
+
+/**
+ * Re-runs the whole transactional method when PostgreSQL aborts it with
+ * {@code 40001 serialization_failure} or {@code 40P01 deadlock_detected}.
+ * Only the outermost transaction is retried: when the method joins a transaction that is already running,
+ * the failure is propagated so the owner of that transaction can retry it.
+ * Not meant for methods that coordinate with other transactions (e.g. through latches): a retry would run uncoordinated.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnSerializationFailure {
+
+    /**
+     * Total number of attempts including the first one.
+     */
+    int maxAttempts() default 5;
+
+    long initialBackoffMillis() default 5;
+
+    long maxBackoffMillis() default 500;
+
+    double multiplier() default 2.0;
+}
@@ -0,0 +1,75 @@
+package com.github.cliffdurden.transactionisolationdemo.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs outside of the transaction interceptor, so every attempt gets a fresh transaction and snapshot.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SerializationFailureRetryAspect {
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder giveUps = new LongAdder();
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnSerializationFailure retry) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed(); // the outer transaction is already doomed, let its owner retry
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (RuntimeException e) {
+                if (!SerializationFailures.isRetryable(e)) {
+                    throw e;
+                }
+                if (attempt >= retry.maxAttempts()) {
+                    giveUps.increment();
+                    log.warn("{} gave up after {} attempts", joinPoint.getSignature().toShortString(), attempt);
+                    throw e;
+                }
+                retries.increment();
+                log.debug("{} attempt {} aborted with SQLSTATE {}, retrying",
+                        joinPoint.getSignature().toShortString(), attempt, SerializationFailures.sqlState(e).orElse(null));
+                backOff(retry, attempt, e);
+            }
+        }
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getGiveUps() {
+        return giveUps.sum();
+    }
+
+    // "full jitter": uniformly random delay up to the exponential ceiling, so that colliding transactions spread out
+    private static void backOff(RetryOnSerializationFailure retry, int attempt, RuntimeException cause) {
+        var ceiling = Math.min(retry.maxBackoffMillis(),
+                (long) (retry.initialBackoffMillis() * Math.pow(retry.multiplier(), attempt - 1)));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cause.addSuppressed(e);
+            throw cause;
+        }
+    }
+}
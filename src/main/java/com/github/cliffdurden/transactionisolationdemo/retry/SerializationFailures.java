@@ -0,0 +1,32 @@
+package com.github.cliffdurden.transactionisolationdemo.retry;
+
+import java.sql.SQLException;
+import java.util.Optional;
+
+public final class SerializationFailures {
+
+    public static final String SERIALIZATION_FAILURE = "40001";
+
+    public static final String DEADLOCK_DETECTED = "40P01";
+
+    private SerializationFailures() {
+    }
+
+    public static boolean isRetryable(Throwable e) {
+        return sqlState(e)
+                .filter(state -> SERIALIZATION_FAILURE.equals(state) || DEADLOCK_DETECTED.equals(state))
+                .isPresent();
+    }
+
+    /**
+     * SQLSTATE of the first {@link SQLException} in the cause chain.
+     */
+    public static Optional<String> sqlState(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null) {
+                return Optional.of(sqlException.getSQLState());
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Bulk loading of books.
+ * {@link #ingestBatched} goes through Hibernate with JDBC batching (see {@code hibernate.jdbc.batch_size}),
+ * {@link #ingestWithCopy} bypasses the persistence context and streams rows with {@code COPY FROM STDIN}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookIngestionService {
+
+    private static final String COPY_SQL = "COPY book (id, title, author, rating) FROM STDIN (FORMAT csv)";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final int ID_BLOCKS_PER_FETCH = 100;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Transactional
+    public long ingestBatched(Stream<Book> books) {
+        long count = 0;
+        for (var iterator = books.iterator(); iterator.hasNext(); ) {
+            entityManager.persist(iterator.next());
+            if (++count % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear(); // keep the persistence context, and the heap, bounded
+            }
+        }
+        return count;
+    }
+
+    /**
+     * COPY goes around Hibernate, so nothing invalidates cached queries over {@code book}; with the second-level cache
+     * on (l2cache profile) all query regions are evicted once the transaction has committed. Cached books stay valid,
+     * COPY only inserts.
+     */
+    @Transactional
+    public long ingestWithCopy(Stream<Book> books) {
+        entityManager.flush();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+            }
+        });
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> copy(connection, books));
+    }
+
+    // ids can't be fetched while COPY is in progress, so rows go in segments of one pre-allocated range each
+    private long copy(Connection connection, Stream<Book> books) throws SQLException {
+        var copyApi = connection.unwrap(PGConnection.class).getCopyAPI();
+        var ids = new IdAllocator(connection);
+        var buffer = new StringBuilder(COPY_BUFFER_SIZE + 1024);
+        var iterator = books.iterator();
+        long count = 0;
+        while (iterator.hasNext()) {
+            var segment = ids.reserveSegment();
+            var copyIn = copyApi.copyIn(COPY_SQL);
+            try {
+                while (iterator.hasNext() && segment.hasNext()) {
+                    var book = iterator.next();
+                    book.setId(segment.next());
+                    appendCsv(buffer, book);
+                    if (buffer.length() >= COPY_BUFFER_SIZE) {
+                        write(copyIn, buffer);
+                    }
+                    count++;
+                }
+                write(copyIn, buffer);
+                copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+        log.debug("{} books copied", count);
+        return count;
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private static void appendCsv(StringBuilder buffer, Book book) {
+        buffer.append(book.getId()).append(',');
+        appendQuoted(buffer, book.getTitle());
+        buffer.append(',');
+        appendQuoted(buffer, book.getAuthor());
+        buffer.append(',');
+        if (book.getRating() != null) {
+            buffer.append(book.getRating());
+        }
+        buffer.append('\n');
+    }
+
+    // unquoted empty field is NULL in CSV mode, a quoted one is an empty string
+    private static void appendQuoted(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    /**
+     * Hands out ids from the same sequence and with the same pooled-lo semantic as Hibernate,
+     * so rows copied here never collide with entities persisted concurrently through JPA.
+     */
+    @RequiredArgsConstructor
+    private static class IdAllocator {
+
+        private static final String NEXT_BLOCKS_SQL = "SELECT nextval('" + Book.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+
+        private final Connection connection;
+
+        Iterator<Long> reserveSegment() throws SQLException {
+            var ids = new ArrayList<Long>(ID_BLOCKS_PER_FETCH * Book.ID_ALLOCATION_SIZE);
+            try (var statement = connection.prepareStatement(NEXT_BLOCKS_SQL)) {
+                statement.setInt(1, ID_BLOCKS_PER_FETCH);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        var blockStart = resultSet.getLong(1);
+                        for (long id = blockStart; id < blockStart + Book.ID_ALLOCATION_SIZE; id++) {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+            return ids.iterator();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+
+/**
+ * Position of the last book of a page in {@code (rating, id)} order.
+ */
+public record BookKeyset(Integer rating, Long id) {
+
+    public static BookKeyset start(Integer minRating) {
+        return new BookKeyset(minRating, Long.MIN_VALUE);
+    }
+
+    public static BookKeyset of(Book book) {
+        return new BookKeyset(book.getRating(), book.getId());
+    }
+}
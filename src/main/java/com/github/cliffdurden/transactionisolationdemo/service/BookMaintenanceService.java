@@ -0,0 +1,167 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import jakarta.persistence.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.*;
+
+/**
+ * Set-based bulk changes for batch jobs running next to live traffic. The matching books are processed in id order,
+ * one chunk per short transaction: a chunk is selected by id and changed with a single statement, so row locks and
+ * WAL volume are bounded by the chunk size, and a failed operation can be restarted without redoing committed chunks.
+ * Chunks are not one snapshot: books that start matching while the operation runs may be missed, books that stop
+ * matching are left alone.
+ */
+@Slf4j
+@Service
+public class BookMaintenanceService {
+
+    private final BookRepository repository;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transaction;
+
+    public BookMaintenanceService(BookRepository repository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.transaction.setName("BookMaintenanceService");
+    }
+
+    public MaintenanceProgress deleteMatching(Specification<Book> predicate, MaintenanceChunking chunking,
+                                              Consumer<MaintenanceProgress> progress) {
+        return inChunks("delete", predicate, chunking, progress, ids -> deleteMatchingIds(predicate, ids));
+    }
+
+    /**
+     * Sets every rating to {@code rating * numerator / denominator}, e.g. 1 / 10 to move from 0-100 to 0-10.
+     * Pending striped increments of a chunk are compacted first, so they are rescaled with the rating; increments
+     * committed after a chunk are not.
+     */
+    public MaintenanceProgress rescaleRatings(int numerator, int denominator, MaintenanceChunking chunking,
+                                              Consumer<MaintenanceProgress> progress) {
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Denominator must not be 0");
+        }
+        return inChunks("rescale", all(), chunking, progress,
+                ids -> {
+                    repository.compactRatingStripes(ids);
+                    return repository.rescaleRatings(ids, numerator, denominator);
+                });
+    }
+
+    /**
+     * Zeroes every rating, pending striped increments included, and marks all books as never recalculated.
+     */
+    public MaintenanceProgress resetRatings(MaintenanceChunking chunking, Consumer<MaintenanceProgress> progress) {
+        return inChunks("reset", all(), chunking, progress, ids -> {
+            repository.deleteRatingStripes(ids);
+            return repository.resetRatings(ids);
+        });
+    }
+
+    /**
+     * Empties the table at once. {@code TRUNCATE} needs an exclusive table lock, so it gives up after
+     * {@code lockTimeout} instead of queueing up all live traffic behind it. {@code book_seq} isn't restarted:
+     * running instances still hold id blocks allocated from it.
+     */
+    public void truncate(Duration lockTimeout) {
+        transaction.executeWithoutResult(status -> {
+            repository.setLocalLockTimeout(lockTimeout.toMillis() + "ms");
+            repository.truncate();
+        });
+        log.info("Truncated book");
+    }
+
+    private MaintenanceProgress inChunks(String operation, Specification<Book> predicate, MaintenanceChunking chunking,
+                                         Consumer<MaintenanceProgress> progress, ToIntFunction<List<Long>> change) {
+        long started = System.nanoTime();
+        long afterId = Long.MIN_VALUE;
+        long rows = 0;
+        int chunks = 0;
+        while (true) {
+            final long after = afterId;
+            var chunk = transaction.execute(status -> {
+                var ids = selectIds(predicate, after, chunking.size());
+                return ids.isEmpty() ? null : new Chunk(ids.get(ids.size() - 1), change.applyAsInt(ids), ids.size());
+            });
+            if (chunk == null) {
+                break;
+            }
+            afterId = chunk.lastId();
+            rows += chunk.affected();
+            chunks++;
+            progress.accept(new MaintenanceProgress(operation, chunks, rows, Duration.ofNanos(System.nanoTime() - started), false));
+            if (chunk.selected() < chunking.size()) {
+                break;
+            }
+            if (!pause(chunking.pause())) {
+                log.warn("{} interrupted after {} chunks, {} rows", operation, chunks, rows);
+                break;
+            }
+        }
+        var result = new MaintenanceProgress(operation, chunks, rows, Duration.ofNanos(System.nanoTime() - started), true);
+        progress.accept(result);
+        log.info("{}: {} rows in {} chunks, {} ms", operation, rows, chunks, result.elapsed().toMillis());
+        return result;
+    }
+
+    /**
+     * The ids were selected without locks, so the predicate is applied again: under READ COMMITTED the DELETE
+     * re-evaluates it on the latest version of a row it had to wait for, and spares books that stopped matching.
+     */
+    private int deleteMatchingIds(Specification<Book> predicate, List<Long> ids) {
+        var builder = entityManager.getCriteriaBuilder();
+        var delete = builder.createCriteriaDelete(Book.class);
+        var book = delete.from(Book.class);
+        var restriction = predicate.toPredicate(book, builder.createQuery(), builder);
+        var idIn = book.get("id").in(ids);
+        delete.where(restriction == null ? idIn : builder.and(idIn, restriction));
+        return entityManager.createQuery(delete).executeUpdate();
+    }
+
+    private List<Long> selectIds(Specification<Book> predicate, long afterId, int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(Long.class);
+        var book = query.from(Book.class);
+        var restriction = predicate.toPredicate(book, query, builder);
+        var idAfter = builder.greaterThan(book.<Long>get("id"), afterId);
+        query.select(book.get("id"))
+                .where(restriction == null ? idAfter : builder.and(idAfter, restriction))
+                .orderBy(builder.asc(book.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static boolean pause(Duration pause) {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Specification<Book> all() {
+        return (book, query, builder) -> null;
+    }
+
+    private record Chunk(long lastId, int affected, int selected) {
+    }
+}
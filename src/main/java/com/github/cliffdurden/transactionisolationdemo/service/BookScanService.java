@@ -0,0 +1,82 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import jakarta.persistence.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Whole-table reads with bounded heap usage, for batch consumers.
+ */
+@Service
+public class BookScanService {
+
+    private final BookRepository repository;
+
+    @PersistenceContext
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BookScanService(BookRepository repository, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setName("BookScanService.forEachPage");
+    }
+
+    /**
+     * One transaction and one snapshot, rows fetched {@link BookRepository#STREAM_FETCH_SIZE} at a time.
+     */
+    @Transactional(readOnly = true)
+    public long streamBooksWithRatingGreaterThan(Integer rating, Consumer<Book> consumer) {
+        long count = 0;
+        try (var books = repository.streamAllByRatingGreaterThanOrderById(rating)) {
+            for (var iterator = books.iterator(); iterator.hasNext(); count++) {
+                var book = iterator.next();
+                consumer.accept(book);
+                entityManager.detach(book); // otherwise the persistence context keeps every row
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A page of books with {@code rating > minRating} following {@code after}; pass the last book of it to get the next one.
+     */
+    @Transactional(readOnly = true)
+    public List<Book> nextPage(Integer minRating, BookKeyset after, int size) {
+        return repository.findPageAfter(minRating, after.rating(), after.id(), PageRequest.of(0, size));
+    }
+
+    /**
+     * Every page is read in its own short transaction, so no snapshot is held for the whole scan. The price: a book
+     * re-rated during the scan may be skipped or passed twice (see {@link BookRepository#findPageAfter}). Consumers
+     * that need every book exactly once use {@link #streamBooksWithRatingGreaterThan}, which reads one snapshot.
+     */
+    public long forEachPage(Integer minRating, int size, Consumer<List<Book>> consumer) {
+        long count = 0;
+        var after = BookKeyset.start(minRating);
+        while (true) {
+            var position = after;
+            var page = readOnlyTransaction.execute(status -> nextPage(minRating, position, size));
+            if (page.isEmpty()) {
+                return count;
+            }
+            consumer.accept(page);
+            count += page.size();
+            if (page.size() < size) {
+                return count;
+            }
+            after = BookKeyset.of(page.get(page.size() - 1));
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package com.github.cliffdurden.transactionisolationdemo.service;
 
+import com.github.cliffdurden.transactionisolationdemo.concurrency.PhaseBarrier;
 import com.github.cliffdurden.transactionisolationdemo.entity.Book;
 import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookSummary;
+import com.github.cliffdurden.transactionisolationdemo.retry.RetryOnSerializationFailure;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.*;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class BookServiceDemoImpl {
 
+    public static final int DEFAULT_RATING_STRIPES = 16;
+
     private final BookRepository repository;
 
     @PersistenceContext
@@ -108,6 +117,140 @@ public class BookServiceDemoImpl {
         latch2.await(); // for dirty read examples.
     }
 
+    @RetryOnSerializationFailure
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public void updateRatingWhenIsolationLevelIsSerializable(Long id, Integer rating) {
+        var book = repository.findById(id).orElseThrow();
+        book.setRating(rating);
+    }
+
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void updateRatingWithPessimisticLock(Long id, Integer rating) {
+        var book = repository.findWithLockById(id).orElseThrow();
+        book.setRating(rating);
+    }
+
+    /**
+     * Fails with a {@code PessimisticLockingFailureException} (SQLSTATE 55P03) instead of queueing behind
+     * a lock holder for longer than {@code lockTimeout}.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void updateRatingWithPessimisticLock(Long id, Integer rating, Duration lockTimeout) {
+        repository.setLocalLockTimeout(lockTimeout.toMillis() + "ms");
+        updateRatingWithPessimisticLock(id, rating);
+    }
+
+    @Transactional(readOnly = true)
+    public Book findBook(Long id) {
+        return repository.findById(id).orElseThrow();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Book> findBooksWithRatingGreaterThan(Integer rating) {
+        return repository.findAllByRatingGreaterThan(rating);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookSummary> findBestBooks(Integer rating, int limit) {
+        return repository.findBestAbove(rating, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Single {@code UPDATE} statement: one round-trip, no dirty checking, no lost updates.
+     */
+    @Transactional
+    public boolean updateRatingAtomically(Long id, Integer rating) {
+        return repository.updateRating(id, rating) == 1;
+    }
+
+    @Transactional
+    public boolean incrementRating(Long id, Integer delta) {
+        return repository.incrementRating(id, delta) == 1;
+    }
+
+    /**
+     * Sharded counter: adds {@code delta} to one of {@code stripes} random stripes instead of the book row, so
+     * concurrent increments of a hot book mostly touch different rows. Read the sum with {@link #findStripedRating}.
+     */
+    @Transactional
+    public void incrementRatingStriped(Long id, Integer delta, int stripes) {
+        repository.incrementRatingStripe(id, ThreadLocalRandom.current().nextInt(stripes), delta);
+    }
+
+    @Transactional
+    public void incrementRatingStriped(Long id, Integer delta) {
+        incrementRatingStriped(id, delta, DEFAULT_RATING_STRIPES);
+    }
+
+    /**
+     * Exact rating including increments not compacted yet; {@link Book#getRating()} lags until the next compaction.
+     */
+    @Transactional(readOnly = true)
+    public long findStripedRating(Long id) {
+        return repository.findStripedRating(id).orElseThrow();
+    }
+
+    @Transactional
+    public int compactRatingStripes() {
+        return repository.compactRatingStripes();
+    }
+
+    /**
+     * Read-modify-write through the entity: a change committed after the read is silently overwritten (lost update).
+     */
+    @Transactional
+    public void incrementRatingReadModifyWrite(Long id, Integer delta) {
+        var book = repository.findById(id).orElseThrow();
+        book.setRating(book.getRating() + delta);
+    }
+
+    /**
+     * {@link #incrementRatingReadModifyWrite(Long, Integer)} for a {@code ConcurrentTransactionRunner} run: every
+     * transaction of the run reads the book before any of them writes.
+     */
+    @Transactional
+    public void incrementRatingReadModifyWrite(Long id, Integer delta, PhaseBarrier barrier) {
+        var book = repository.findById(id).orElseThrow();
+        barrier.arriveAndAwait(); // waiting until every transaction has read the same book
+        book.setRating(book.getRating() + delta);
+    }
+
+    /**
+     * Optimistic read-modify-write: fails with {@code ObjectOptimisticLockingFailureException} instead of overwriting
+     * a rating that has been changed since it was read.
+     */
+    @Transactional
+    public void incrementRatingOptimistically(Long id, Integer delta) {
+        var book = repository.findById(id).orElseThrow();
+        updateRatingIfUnchanged(book, book.getRating() + delta);
+    }
+
+    /**
+     * {@link #incrementRatingOptimistically(Long, Integer)} for a {@code ConcurrentTransactionRunner} run: every
+     * transaction of the run reads the book before any of them writes.
+     */
+    @Transactional
+    public void incrementRatingOptimistically(Long id, Integer delta, PhaseBarrier barrier) {
+        var book = repository.findById(id).orElseThrow();
+        barrier.arriveAndAwait(); // waiting until every transaction has read the same book
+        updateRatingIfUnchanged(book, book.getRating() + delta);
+    }
+
+    /**
+     * Keeps "at least one of the two books has a positive rating" only under SERIALIZABLE:
+     * two concurrent calls for the same pair, in opposite directions, can both see the other book positive (write skew).
+     */
+    @Transactional
+    public boolean zeroRatingIfOtherIsPositive(Long id, Long otherId) {
+        var book = repository.findById(id).orElseThrow();
+        var other = repository.findById(otherId).orElseThrow();
+        if (book.getRating() <= 0 || other.getRating() <= 0) {
+            return false;
+        }
+        book.setRating(0);
+        return true;
+    }
+
     @SneakyThrows
     @Transactional
     public void addBooksT2(Book... newBooks) {
@@ -137,11 +280,20 @@ public class BookServiceDemoImpl {
         return repository.findById(id).orElseThrow();
     }
 
+    private void updateRatingIfUnchanged(Book book, Integer rating) {
+        if (repository.updateRatingIfVersion(book.getId(), rating, book.getVersion()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Book.class, book.getId());
+        }
+    }
+
     public Book save(Book book) {
         return repository.save(book);
     }
 
+    /**
+     * One {@code DELETE} statement; see {@link BookMaintenanceService} for deletes that must not hold locks for long.
+     */
     public void deleteAll() {
-        repository.deleteAll();
+        repository.deleteAllInBatch();
     }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import com.github.cliffdurden.transactionisolationdemo.datasource.HikariPools;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.file.*;
+import java.sql.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Point-in-time export of the book table while writes go on. A coordinating REPEATABLE READ transaction publishes
+ * its snapshot with {@code pg_export_snapshot()}; each worker imports it with {@code SET TRANSACTION SNAPSHOT}
+ * and streams one id range with {@code COPY ... TO STDOUT} straight into its file. All files together show the
+ * table as of one instant, rows never pass through the heap, and throughput scales with the number of workers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookSnapshotExporter {
+
+    private static final String COLUMNS = "id, title, author, rating, rating_recalculated_at, version";
+
+    private static final int FILE_BUFFER_SIZE = 256 * 1024;
+
+    private final DataSource dataSource;
+
+    /**
+     * Every worker holds a connection for the whole export, and the coordinator one more, so the pool needs at
+     * least {@code workers + 1} connections.
+     */
+    public SnapshotExport export(Path directory, int workers, ExportFormat format) throws IOException, SQLException {
+        return export(directory, workers, format, snapshot -> {
+        });
+    }
+
+    /**
+     * @param onSnapshotExported called with the snapshot id once it is exported, before any worker starts copying;
+     *                           whatever it commits is not part of the export
+     */
+    public SnapshotExport export(Path directory, int workers, ExportFormat format, Consumer<String> onSnapshotExported)
+            throws IOException, SQLException {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("At least one worker needed: " + workers);
+        }
+        int poolSize = HikariPools.maximumPoolSize(dataSource);
+        if (workers + 1 > poolSize) {
+            // with fewer connections the workers would wait for the pool until the connection timeout
+            throw new IllegalArgumentException("%d workers and the coordinator need %d connections, the pool has %d"
+                    .formatted(workers, workers + 1, poolSize));
+        }
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        try (var coordinator = dataSource.getConnection()) {
+            beginSnapshotTransaction(coordinator);
+            try {
+                var snapshot = queryForString(coordinator, "SELECT pg_export_snapshot()");
+                var ranges = idRanges(coordinator, workers);
+                onSnapshotExported.accept(snapshot);
+                var files = new ArrayList<Path>();
+                var executor = Executors.newFixedThreadPool(workers);
+                try {
+                    var futures = new ArrayList<Future<Long>>();
+                    for (int i = 0; i < ranges.size(); i++) {
+                        var file = directory.resolve("book-%03d.%s".formatted(i, format.getFileExtension()));
+                        var range = ranges.get(i);
+                        files.add(file);
+                        futures.add(executor.submit(() -> copyRange(snapshot, range, file, format)));
+                    }
+                    long rows = 0;
+                    for (var future : futures) {
+                        rows += getUnchecked(future);
+                    }
+                    var export = new SnapshotExport(snapshot, List.copyOf(files), rows, Duration.ofNanos(System.nanoTime() - started));
+                    log.info("Exported {} books of snapshot {} to {} files in {} ms", rows, snapshot, files.size(), export.elapsed().toMillis());
+                    return export;
+                } finally {
+                    executor.shutdownNow();
+                }
+            } finally {
+                // the snapshot stays importable only while this transaction is open
+                coordinator.rollback();
+            }
+        }
+    }
+
+    private long copyRange(String snapshot, IdRange range, Path file, ExportFormat format) throws IOException, SQLException {
+        try (var connection = dataSource.getConnection();
+             var out = new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_SIZE)) {
+            beginSnapshotTransaction(connection);
+            try {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("SET TRANSACTION SNAPSHOT '" + snapshot + "'");
+                }
+                var sql = "COPY (SELECT %s FROM book WHERE id BETWEEN %d AND %d ORDER BY id) TO STDOUT %s"
+                        .formatted(COLUMNS, range.from(), range.to(), format.getCopyOptions());
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    // REPEATABLE READ is the lowest level a snapshot can be exported from or imported into
+    private static void beginSnapshotTransaction(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.setReadOnly(true);
+    }
+
+    /**
+     * Splits {@code [min(id), max(id)]} of the snapshot into equally wide ranges; ids are dense enough for that.
+     */
+    private static List<IdRange> idRanges(Connection connection, int count) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT min(id), max(id) FROM book")) {
+            resultSet.next();
+            long min = resultSet.getLong(1);
+            if (resultSet.wasNull()) {
+                return List.of(new IdRange(0, -1));
+            }
+            long max = resultSet.getLong(2);
+            long width = Math.max(1, (max - min + count) / count);
+            var ranges = new ArrayList<IdRange>();
+            for (long from = min; from <= max; from += width) {
+                ranges.add(new IdRange(from, Math.min(max, from + width - 1)));
+            }
+            return ranges;
+        }
+    }
+
+    private static String queryForString(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement(); var resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static long getUnchecked(Future<Long> future) throws IOException, SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private record IdRange(long from, long to) {
+    }
+}
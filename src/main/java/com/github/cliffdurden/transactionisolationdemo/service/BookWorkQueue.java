@@ -0,0 +1,120 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * The book table as a work queue for rating recalculation. Workers claim batches with {@code FOR UPDATE SKIP LOCKED}:
+ * rows claimed by one worker are invisible to the others until its transaction ends, so N workers process disjoint
+ * batches in parallel, never block each other and never abort each other.
+ */
+@Slf4j
+@Service
+public class BookWorkQueue {
+
+    private final BookRepository repository;
+
+    private final TransactionTemplate transaction;
+
+    private final Clock clock;
+
+    public BookWorkQueue(BookRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.transaction.setName("BookWorkQueue.processBatch");
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Claims up to {@code batchSize} books not recalculated since {@code since}, hands each to {@code recalculation}
+     * and marks them recalculated, all in one transaction.
+     *
+     * @return number of processed books, 0 when there's nothing left that isn't claimed by another worker
+     */
+    public int processBatch(Instant since, int batchSize, Consumer<Book> recalculation) {
+        Integer processed = transaction.execute(status -> {
+            var batch = claim(since, batchSize);
+            var now = clock.instant();
+            for (var book : batch) {
+                recalculation.accept(book);
+                book.setRatingRecalculatedAt(now);
+            }
+            return batch.size();
+        });
+        return processed == null ? 0 : processed;
+    }
+
+    /**
+     * Runs {@code workers} parallel workers until no book needs recalculation.
+     *
+     * @return number of processed books
+     */
+    public long drain(int workers, int batchSize, Consumer<Book> recalculation) {
+        var since = clock.instant();
+        var total = drain(workers, () -> processBatch(since, batchSize, recalculation));
+        log.debug("{} books recalculated by {} workers", total, workers);
+        return total;
+    }
+
+    /**
+     * Runs {@code workers} parallel workers, each calling {@code batch} until it returns 0.
+     *
+     * @return sum of all batch sizes
+     */
+    public static long drain(int workers, IntSupplier batch) {
+        var executor = Executors.newFixedThreadPool(workers);
+        try {
+            var futures = new ArrayList<Future<Long>>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    long processed = 0;
+                    for (int size; (size = batch.getAsInt()) > 0; ) {
+                        processed += size;
+                    }
+                    return processed;
+                }));
+            }
+            long total = 0;
+            for (var future : futures) {
+                total += getUnchecked(future);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // never recalculated books first, then the stale ones
+    private List<Book> claim(Instant since, int batchSize) {
+        var batch = new ArrayList<>(repository.claimNotRecalculated(PageRequest.of(0, batchSize)));
+        if (batch.size() < batchSize) {
+            batch.addAll(repository.claimRecalculatedBefore(since, PageRequest.of(0, batchSize - batch.size())));
+        }
+        return batch;
+    }
+
+    private static long getUnchecked(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import lombok.*;
+
+/**
+ * Output of {@link BookSnapshotExporter}: CSV with a header line per file, or PostgreSQL's binary {@code COPY} format,
+ * which {@code COPY ... FROM ... (FORMAT binary)} loads fastest.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    CSV("csv", "(FORMAT csv, HEADER)"),
+    BINARY("bin", "(FORMAT binary)");
+
+    private final String fileExtension;
+
+    private final String copyOptions;
+}
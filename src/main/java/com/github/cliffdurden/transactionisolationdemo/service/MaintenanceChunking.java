@@ -0,0 +1,20 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import java.time.Duration;
+
+/**
+ * How a {@link BookMaintenanceService} operation is split up.
+ *
+ * @param size  rows per chunk, i.e. per transaction
+ * @param pause wait between chunks, leaving room for live traffic and for WAL shipping to catch up
+ */
+public record MaintenanceChunking(int size, Duration pause) {
+
+    public static final MaintenanceChunking DEFAULT = new MaintenanceChunking(1000, Duration.ofMillis(50));
+
+    public MaintenanceChunking {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + size);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import java.time.Duration;
+
+/**
+ * Reported after every committed chunk, and once more with {@code done} set when the operation has finished.
+ *
+ * @param rows rows affected so far
+ */
+public record MaintenanceProgress(String operation, int chunks, long rows, Duration elapsed, boolean done) {
+}
@@ -0,0 +1,23 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.*;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(RatingStripeProperties.class)
+@ConditionalOnProperty("demo.rating-stripes.compaction-enabled")
+public class RatingStripeCompactionConfiguration {
+
+    @Bean
+    public RatingStripeCompactor ratingStripeCompactor(BookServiceDemoImpl service) {
+        return new RatingStripeCompactor(service);
+    }
+
+    @Bean
+    public SchedulingConfigurer ratingStripeCompactionSchedule(RatingStripeCompactor compactor,
+                                                               RatingStripeProperties properties) {
+        return registrar -> registrar.addFixedDelayTask(compactor::compact, properties.getCompactionInterval());
+    }
+}
@@ -0,0 +1,20 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically folds striped rating increments into {@code Book.rating}, so plain reads of the rating
+ * lag by at most {@code demo.rating-stripes.compaction-interval}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RatingStripeCompactor {
+
+    private final BookServiceDemoImpl service;
+
+    public void compact() {
+        var books = service.compactRatingStripes();
+        log.debug("Compacted rating stripes of {} books", books);
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("demo.rating-stripes")
+public class RatingStripeProperties {
+
+    private boolean compactionEnabled;
+
+    /**
+     * Delay between the end of one compaction and the start of the next.
+     */
+    private Duration compactionInterval = Duration.ofSeconds(10);
+}
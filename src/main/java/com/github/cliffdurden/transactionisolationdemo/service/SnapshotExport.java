@@ -0,0 +1,12 @@
+package com.github.cliffdurden.transactionisolationdemo.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param snapshot id of the exported snapshot, the same for every file
+ * @param files    one per id range, in id order
+ */
+public record SnapshotExport(String snapshot, List<Path> files, long rows, Duration elapsed) {
+}
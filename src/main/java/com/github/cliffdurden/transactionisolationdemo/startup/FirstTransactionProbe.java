@@ -0,0 +1,61 @@
+package com.github.cliffdurden.transactionisolationdemo.startup;
+
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Measures time-to-first-transaction: JVM start until the context is ready, and until a first transaction has
+ * committed, i.e. the pool is connected and Hibernate is warm. Off unless {@code demo.startup.probe-enabled=true};
+ * {@code demo.startup.exit-after-first-transaction=true} runs it too and exits right after, for startup
+ * measurements and CDS training runs. Checked at runtime rather than by a condition, which AOT would fix at build time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FirstTransactionProbe {
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final BookRepository repository;
+
+    @Value("${demo.startup.probe-enabled:false}")
+    private boolean probeEnabled;
+
+    @Value("${demo.startup.exit-after-first-transaction:false}")
+    private boolean exitAfterFirstTransaction;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!probeEnabled && !exitAfterFirstTransaction) {
+            return;
+        }
+        var runtime = ManagementFactory.getRuntimeMXBean();
+        long readyMillis = runtime.getUptime();
+        var transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setName("FirstTransactionProbe.onReady");
+        transaction.execute(status -> repository.count());
+        long firstTransactionMillis = runtime.getUptime();
+        log.info("Ready {} ms after JVM start, first transaction committed after {} ms (AOT: {}, CDS: {})",
+                readyMillis, firstTransactionMillis, AotDetector.useGeneratedArtifacts(), sharedArchive(runtime.getInputArguments()));
+        if (exitAfterFirstTransaction) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    private static boolean sharedArchive(List<String> jvmArguments) {
+        return jvmArguments.stream().anyMatch(argument -> argument.startsWith("-XX:SharedArchiveFile"));
+    }
+}
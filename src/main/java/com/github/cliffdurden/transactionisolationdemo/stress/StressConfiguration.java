@@ -0,0 +1,34 @@
+package com.github.cliffdurden.transactionisolationdemo.stress;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.*;
+
+import java.util.ArrayList;
+
+/**
+ * {@code ./gradlew bootRun --args='--demo.stress.enabled=true'} runs the workload for every configured
+ * isolation level and skew, then prints a summary.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(StressProperties.class)
+public class StressConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("demo.stress.enabled")
+    public ApplicationRunner stressRunner(StressWorkload workload, StressProperties properties) {
+        return args -> {
+            var reports = new ArrayList<StressReport>();
+            for (var skew : properties.getSkews()) {
+                for (var isolation : properties.getIsolationLevels()) {
+                    reports.add(workload.run(isolation, skew));
+                }
+            }
+            log.info("Stress summary ({} books, {} transactions per run):\n{}", properties.getBooks(), properties.getTransactions(),
+                    String.join("\n", reports.stream().map(StressReport::toString).toList()));
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.cliffdurden.transactionisolationdemo.stress;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.transaction.annotation.Isolation;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties("demo.stress")
+public class StressProperties {
+
+    private boolean enabled;
+
+    /**
+     * Books seeded before every run; keys are picked among them with a Zipfian distribution.
+     */
+    private int books = 1000;
+
+    /**
+     * Transactions per run, all started at once; the connection pool bounds how many actually run in parallel.
+     */
+    private int transactions = 10_000;
+
+    private List<Isolation> isolationLevels = List.of(Isolation.READ_COMMITTED, Isolation.REPEATABLE_READ, Isolation.SERIALIZABLE);
+
+    private List<Double> skews = List.of(0.0, 0.9, 0.99);
+
+    private int readWeight = 60;
+
+    private int updateWeight = 30;
+
+    private int insertWeight = 5;
+
+    /**
+     * "At least one of the pair keeps a positive rating" transactions, see {@link StressWorkload}.
+     */
+    private int writeSkewWeight = 5;
+
+    private int writeSkewPairs = 100;
+}
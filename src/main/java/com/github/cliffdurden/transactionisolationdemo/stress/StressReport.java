@@ -0,0 +1,21 @@
+package com.github.cliffdurden.transactionisolationdemo.stress;
+
+import com.github.cliffdurden.transactionisolationdemo.concurrency.RunReport;
+import org.springframework.transaction.annotation.Isolation;
+
+/**
+ * @param lostUpdates committed increments that are missing from the final ratings
+ * @param writeSkews  pairs whose ratings both ended at 0, which no serial order of the transactions allows
+ */
+public record StressReport(Isolation isolation, double skew, RunReport run, long lostUpdates, long writeSkews) {
+
+    public double abortRate() {
+        return (double) (run.aborts() + run.failures()) / run.transactions();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-15s skew=%.2f %8.0f tx/s p99=%8.2fms aborted=%5.1f%% lost updates=%d write skews=%d",
+                isolation, skew, run.throughputPerSecond(), run.total().p99() / 1e6, abortRate() * 100, lostUpdates, writeSkews);
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.cliffdurden.transactionisolationdemo.stress;
+
+import com.github.cliffdurden.transactionisolationdemo.concurrency.ConcurrentTransactionRunner;
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookIngestionService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookMaintenanceService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.*;
+
+/**
+ * Mixed read/update/insert workload on Zipfian-distributed hot books, driven through {@link BookServiceDemoImpl}.
+ * Every operation runs in a transaction of the isolation level under test, which the service methods join.
+ * Updates are unversioned read-modify-write increments ({@code UPDATE book SET rating = <read value + 1>}): lost
+ * under READ_COMMITTED, aborted under REPEATABLE_READ and SERIALIZABLE. The run counts them by comparing committed
+ * increments with the final ratings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StressWorkload {
+
+    private static final String HOT = "Hot ";
+
+    private static final String PAIR = "Pair ";
+
+    private static final Duration TRUNCATE_LOCK_TIMEOUT = Duration.ofSeconds(10);
+
+    private final BookServiceDemoImpl service;
+
+    private final BookIngestionService ingestionService;
+
+    private final BookMaintenanceService maintenance;
+
+    private final ConcurrentTransactionRunner runner;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StressProperties properties;
+
+    public StressReport run(Isolation isolation, double skew) {
+        maintenance.truncate(TRUNCATE_LOCK_TIMEOUT); // through Hibernate, so cached books and queries are invalidated
+        var hot = seed(IntStream.range(0, properties.getBooks()).mapToObj(i -> book(HOT + i, 0)));
+        var pairs = seed(IntStream.range(0, properties.getWriteSkewPairs() * 2).mapToObj(i -> book(PAIR + i, 1)));
+        var hotKeys = new ZipfianGenerator(hot.size(), skew);
+        var pairKeys = new ZipfianGenerator(pairs.size() / 2, skew);
+        var committedIncrements = new LongAdder();
+
+        var definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(isolation.value());
+        definition.setName("StressWorkload.run");
+        var run = runner.run(properties.getTransactions(), definition, (index, barrier) -> {
+            var random = ThreadLocalRandom.current().nextInt(totalWeight());
+            if ((random -= properties.getReadWeight()) < 0) {
+                service.findBook(hot.get((int) hotKeys.next()));
+            } else if ((random -= properties.getUpdateWeight()) < 0) {
+                service.incrementRatingReadModifyWrite(hot.get((int) hotKeys.next()), 1);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        committedIncrements.increment();
+                    }
+                });
+            } else if ((random -= properties.getInsertWeight()) < 0) {
+                service.addBooksT2(book("New " + index, 0));
+            } else {
+                var pair = (int) pairKeys.next() * 2;
+                var first = ThreadLocalRandom.current().nextBoolean();
+                service.zeroRatingIfOtherIsPositive(pairs.get(first ? pair : pair + 1), pairs.get(first ? pair + 1 : pair));
+            }
+        });
+
+        var ratings = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(rating), 0) FROM book WHERE title LIKE '" + HOT + "%'", Long.class);
+        var report = new StressReport(isolation, skew, run, committedIncrements.sum() - ratings, countWriteSkews(pairs));
+        log.info("{}", report);
+        return report;
+    }
+
+    private int totalWeight() {
+        return properties.getReadWeight() + properties.getUpdateWeight() + properties.getInsertWeight() + properties.getWriteSkewWeight();
+    }
+
+    private List<Long> seed(Stream<Book> books) {
+        var seeded = books.toList();
+        ingestionService.ingestWithCopy(seeded.stream());
+        return seeded.stream().map(Book::getId).toList();
+    }
+
+    private long countWriteSkews(List<Long> pairs) {
+        var ratings = new HashMap<Long, Integer>();
+        jdbcTemplate.query("SELECT id, rating FROM book WHERE title LIKE '" + PAIR + "%'",
+                resultSet -> {
+                    ratings.put(resultSet.getLong("id"), resultSet.getInt("rating"));
+                });
+        return IntStream.range(0, pairs.size() / 2)
+                .filter(i -> ratings.get(pairs.get(i * 2)) <= 0 && ratings.get(pairs.get(i * 2 + 1)) <= 0)
+                .count();
+    }
+
+    private static Book book(String title, int rating) {
+        return Book.builder().title(title).author("Stress").rating(rating).build();
+    }
+}
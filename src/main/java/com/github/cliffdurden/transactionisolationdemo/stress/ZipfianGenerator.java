@@ -0,0 +1,59 @@
+package com.github.cliffdurden.transactionisolationdemo.stress;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Item ranks {@code [0, items)} with a Zipfian distribution: rank 0 is the hottest.
+ * {@code skew} (theta) 0 is uniform, values towards 1 concentrate more and more traffic on the first ranks.
+ * Algorithm of Gray et al., "Quickly Generating Billion-Record Synthetic Databases", as used by YCSB.
+ */
+public class ZipfianGenerator {
+
+    private final long items;
+
+    private final double theta;
+
+    private final double zetaN;
+
+    private final double alpha;
+
+    private final double eta;
+
+    private final double secondRankThreshold;
+
+    public ZipfianGenerator(long items, double skew) {
+        if (items < 2 || skew < 0 || skew >= 1) {
+            throw new IllegalArgumentException("Needs at least 2 items and 0 <= skew < 1, got " + items + " and " + skew);
+        }
+        this.items = items;
+        this.theta = skew;
+        this.zetaN = zeta(items, skew);
+        this.alpha = 1.0 / (1.0 - skew);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - skew)) / (1 - zeta(2, skew) / zetaN);
+        this.secondRankThreshold = 1 + Math.pow(0.5, skew);
+    }
+
+    public long next() {
+        var u = ThreadLocalRandom.current().nextDouble();
+        var uz = u * zetaN;
+        if (uz < 1) {
+            return 0;
+        }
+        if (uz < secondRankThreshold) {
+            return 1;
+        }
+        return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    public double skew() {
+        return theta;
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import java.time.Instant;
+
+/**
+ * One executed statement.
+ *
+ * @param bindCount   parameters bound for the execution, summed over all rows of a batch
+ * @param batchSize   rows of a batch, 0 for single executions
+ * @param transaction name of the owning Spring transaction, usually the {@code @Transactional} method,
+ *                    or {@code null} outside a transaction
+ * @param isolation   isolation level of the owning transaction, {@code DEFAULT} when it didn't set one
+ * @param connection  identity of the connection, shared by all statements of a transaction
+ */
+public record SqlTrace(Instant startedAt,
+                       String sql,
+                       int bindCount,
+                       int batchSize,
+                       long durationNanos,
+                       String transaction,
+                       String isolation,
+                       boolean readOnly,
+                       int connection,
+                       String thread,
+                       boolean slow) {
+}
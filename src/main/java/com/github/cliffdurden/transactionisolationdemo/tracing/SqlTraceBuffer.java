@@ -0,0 +1,90 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer ring of traces. Producers never block or allocate beyond the trace itself: a full ring
+ * overwrites its oldest entries, which the single consumer counts as dropped.
+ */
+public class SqlTraceBuffer {
+
+    private record Slot(long sequence, SqlTrace trace) {
+    }
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final int mask;
+
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private long consumed;
+
+    public SqlTraceBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void offer(SqlTrace trace) {
+        long sequence = nextSequence.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot(sequence, trace));
+    }
+
+    /**
+     * Hands every trace offered since the last call to {@code consumer}, oldest first. A slot that is still being
+     * written stops the drain until the next call.
+     *
+     * @return number of traces consumed
+     */
+    public synchronized int drainTo(Consumer<SqlTrace> consumer) {
+        long end = nextSequence.get();
+        if (end - consumed > slots.length()) {
+            dropped.addAndGet(end - slots.length() - consumed);
+            consumed = end - slots.length();
+        }
+        int drained = 0;
+        while (consumed < end) {
+            var slot = slots.get((int) (consumed & mask));
+            if (slot == null || slot.sequence() < consumed) {
+                break;
+            }
+            if (slot.sequence() > consumed) {
+                // overwritten while draining
+                dropped.addAndGet(slot.sequence() - consumed);
+                consumed = slot.sequence();
+                continue;
+            }
+            consumer.accept(slot.trace());
+            consumed++;
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * The most recent traces still in the ring, oldest first, whether reported already or not.
+     */
+    public List<SqlTrace> recent() {
+        long end = nextSequence.get();
+        var traces = new ArrayList<SqlTrace>();
+        for (long sequence = Math.max(0, end - slots.length()); sequence < end; sequence++) {
+            var slot = slots.get((int) (sequence & mask));
+            if (slot != null && slot.sequence() == sequence) {
+                traces.add(slot.trace());
+            }
+        }
+        return traces;
+    }
+
+    public long getOffered() {
+        return nextSequence.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+}
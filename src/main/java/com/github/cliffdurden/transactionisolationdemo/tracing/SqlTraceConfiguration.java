@@ -0,0 +1,66 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.*;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Sampled statement tracing in place of {@code show-sql} and TRACE logging of binds.
+ * Disable with {@code demo.tracing.sql.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(value = "demo.tracing.sql.enabled", matchIfMissing = true)
+public class SqlTraceConfiguration {
+
+    @Bean
+    static SqlTraceProperties sqlTraceProperties(Environment environment) {
+        return Binder.get(environment).bindOrCreate("demo.tracing.sql", SqlTraceProperties.class);
+    }
+
+    @Bean
+    static SqlTraceBuffer sqlTraceBuffer(SqlTraceProperties properties) {
+        return new SqlTraceBuffer(properties.getBufferSize());
+    }
+
+    @Bean
+    static SqlTracer sqlTracer(SqlTraceBuffer sqlTraceBuffer, SqlTraceProperties properties) {
+        return new SqlTracer(sqlTraceBuffer, properties.getSampleRate(), properties.getSlowThreshold());
+    }
+
+    @Bean
+    public SqlTraceReporter sqlTraceReporter(SqlTraceBuffer sqlTraceBuffer, SqlTraceProperties properties) {
+        return new SqlTraceReporter(sqlTraceBuffer, properties.getReportInterval());
+    }
+
+    /**
+     * Wraps only the data source the application uses, so with read/write routing each statement is traced once,
+     * whichever pool it ends up on.
+     */
+    @Bean
+    static BeanPostProcessor tracingDataSourcePostProcessor(SqlTracer sqlTracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+                    return new TracingDataSource(dataSource, sqlTracer);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder sqlTraceMetrics(SqlTracer sqlTracer, SqlTraceBuffer sqlTraceBuffer) {
+        return registry -> {
+            FunctionCounter.builder("book.sql.statements", sqlTracer, SqlTracer::getStatements).register(registry);
+            FunctionCounter.builder("book.sql.slow.statements", sqlTracer, SqlTracer::getSlowStatements).register(registry);
+            FunctionCounter.builder("book.sql.traces.dropped", sqlTraceBuffer, SqlTraceBuffer::getDropped).register(registry);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("demo.tracing.sql")
+public class SqlTraceProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Fraction of statements traced regardless of their duration, from 0 to 1.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Statements running at least this long are always traced and reported as slow.
+     */
+    private Duration slowThreshold = Duration.ofMillis(100);
+
+    /**
+     * Capacity of the ring buffer, rounded up to a power of two. Traces not reported before
+     * the buffer wraps around are dropped.
+     */
+    private int bufferSize = 8192;
+
+    private Duration reportInterval = Duration.ofSeconds(1);
+}
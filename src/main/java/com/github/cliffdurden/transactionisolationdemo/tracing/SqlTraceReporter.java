@@ -0,0 +1,70 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Logs buffered traces from its own thread, so statement execution never waits for log formatting or appenders.
+ * Slow statements are logged at WARN, sampled ones at DEBUG.
+ */
+@Slf4j
+public class SqlTraceReporter implements DisposableBean {
+
+    private final SqlTraceBuffer buffer;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "sql-trace-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long reportedDrops;
+
+    public SqlTraceReporter(SqlTraceBuffer buffer, Duration interval) {
+        this.buffer = buffer;
+        executor.scheduleWithFixedDelay(this::report, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void report() {
+        try {
+            buffer.drainTo(this::log);
+            long dropped = buffer.getDropped();
+            if (dropped > reportedDrops) {
+                log.warn("{} SQL traces dropped, the reporter can't keep up", dropped - reportedDrops);
+                reportedDrops = dropped;
+            }
+        } catch (RuntimeException e) {
+            log.warn("SQL trace reporting failed", e);
+        }
+    }
+
+    private void log(SqlTrace trace) {
+        if (trace.slow()) {
+            log.warn("Slow SQL: {}", format(trace));
+        } else if (log.isDebugEnabled()) {
+            log.debug("SQL: {}", format(trace));
+        }
+    }
+
+    private static String format(SqlTrace trace) {
+        return "%.3f ms, %d binds%s, tx %s (%s%s, connection %08x) on %s: %s".formatted(
+                trace.durationNanos() / 1_000_000.0,
+                trace.bindCount(),
+                trace.batchSize() > 0 ? " in a batch of " + trace.batchSize() : "",
+                trace.transaction(),
+                trace.isolation(),
+                trace.readOnly() ? ", read-only" : "",
+                trace.connection(),
+                trace.thread(),
+                trace.sql());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        report();
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which executed statements are worth a trace: all slow ones and a random sample of the rest.
+ * Statements that are neither cost a clock read and a random number.
+ */
+public class SqlTracer {
+
+    private final SqlTraceBuffer buffer;
+
+    private final double sampleRate;
+
+    private final long slowThresholdNanos;
+
+    private final LongAdder statements = new LongAdder();
+
+    private final LongAdder slowStatements = new LongAdder();
+
+    public SqlTracer(SqlTraceBuffer buffer, double sampleRate, Duration slowThreshold) {
+        this.buffer = buffer;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public void record(String sql, int bindCount, int batchSize, long startNanos, int connection) {
+        long durationNanos = System.nanoTime() - startNanos;
+        boolean slow = durationNanos >= slowThresholdNanos;
+        statements.increment();
+        if (slow) {
+            slowStatements.increment();
+        } else if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        var isolationLevel = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+        buffer.offer(new SqlTrace(
+                Instant.now().minusNanos(durationNanos),
+                sql,
+                bindCount,
+                batchSize,
+                durationNanos,
+                TransactionSynchronizationManager.getCurrentTransactionName(),
+                isolationLevel != null ? isolationName(isolationLevel) : Isolation.DEFAULT.name(),
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                connection,
+                Thread.currentThread().getName(),
+                slow));
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getSlowStatements() {
+        return slowStatements.sum();
+    }
+
+    private static String isolationName(int level) {
+        for (var isolation : Isolation.values()) {
+            if (isolation.value() == level) {
+                return isolation.name();
+            }
+        }
+        return String.valueOf(level);
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.*;
+import java.sql.*;
+
+/**
+ * Hands out connections whose statements report their executions to a {@link SqlTracer}.
+ * Everything else, {@code unwrap} included, goes straight to the target.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private final SqlTracer tracer;
+
+    public TracingDataSource(DataSource target, SqlTracer tracer) {
+        super(target);
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trace(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trace(super.getConnection(username, password));
+    }
+
+    private Connection trace(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection, System.identityHashCode(connection)));
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private final int id;
+
+        ConnectionHandler(Connection target, int id) {
+            this.target = target;
+            this.id = id;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall" -> statement(result, CallableStatement.class, (String) args[0]);
+                case "createStatement" -> statement(result, Statement.class, null);
+                default -> result;
+            };
+        }
+
+        private Object statement(Object statement, Class<? extends Statement> type, String sql) {
+            return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, sql, id));
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        private final int connection;
+
+        private String sql;
+
+        private int bindCount;
+
+        private int batchSize;
+
+        StatementHandler(Statement target, String sql, int connection) {
+            this.target = target;
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var name = method.getName();
+            if (name.startsWith("execute")) {
+                if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                    sql = statementSql;
+                }
+                long start = System.nanoTime();
+                try {
+                    return invokeTarget(target, method, args);
+                } finally {
+                    tracer.record(sql, bindCount, batchSize, start, connection);
+                    bindCount = 0;
+                    batchSize = 0;
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindCount++;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+            } else if (name.equals("clearBatch")) {
+                bindCount = 0;
+                batchSize = 0;
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE book
+(
+    id                     BIGINT NOT NULL PRIMARY KEY,
+    author                 VARCHAR(255),
+    rating                 INTEGER,
+    rating_recalculated_at TIMESTAMP(6) WITH TIME ZONE,
+    title                  VARCHAR(255),
+    version                BIGINT
+);
+
+CREATE INDEX idx_book_rating_id_title ON book (rating, id, title);
@@ -0,0 +1,7 @@
+CREATE TABLE book_rating_stripe
+(
+    book_id BIGINT  NOT NULL REFERENCES book (id) ON DELETE CASCADE,
+    stripe  INTEGER NOT NULL,
+    delta   INTEGER NOT NULL,
+    PRIMARY KEY (book_id, stripe)
+);
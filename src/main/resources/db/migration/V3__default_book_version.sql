@@ -0,0 +1,5 @@
+UPDATE book SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE book
+    ALTER COLUMN version SET DEFAULT 0,
+    ALTER COLUMN version SET NOT NULL;
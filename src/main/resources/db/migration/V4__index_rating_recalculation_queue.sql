@@ -0,0 +1,5 @@
+-- BookWorkQueue claims books never recalculated in id order; processed books leave this index.
+CREATE INDEX idx_book_not_recalculated ON book (id) WHERE rating_recalculated_at IS NULL;
+
+-- and then the least recently recalculated ones.
+CREATE INDEX idx_book_rating_recalculated_at ON book (rating_recalculated_at, id);
@@ -0,0 +1,51 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Common setup of the integration tests. Every subclass registers a database of its own with
+ * {@link TemplateDatabases#register} in a {@code @DynamicPropertySource}, which also gives it a context of its own,
+ * so test classes run in parallel (see {@code junit-platform.properties}). The book table is emptied after every test.
+ */
+@SpringBootTest
+abstract class AbstractDatabaseTests {
+
+    @Autowired
+    protected BookRepository repository;
+
+    /**
+     * Classes whose tests run concurrently override this to delete only the rows of the finished test.
+     */
+    @AfterEach
+    void deleteBooks() {
+        repository.deleteAllInBatch();
+    }
+
+    protected static Book book1() {
+        return Book.builder()
+                .author("Donald Knuth")
+                .title("Art of Computer Programming, Volume 1: Fundamental Algorithms")
+                .rating(0)
+                .build();
+    }
+
+    protected static Book book2() {
+        return Book.builder()
+                .author("Donald Knuth")
+                .title("Art of Computer Programming, Volume 2: Seminumerical Algorithms")
+                .rating(5)
+                .build();
+    }
+
+    protected static Book book3() {
+        return Book.builder()
+                .author("Donald Knuth")
+                .title("Art of Computer Programming, Volume 3: Sorting and Searching")
+                .rating(5)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.*;
+
+/**
+ * Common setup of the isolation scenarios: {@code book1} and an executor for T1 and T2.
+ */
+abstract class AbstractIsolationScenarioTests extends AbstractDatabaseTests {
+
+    @Autowired
+    protected BookServiceDemoImpl testSubject;
+
+    protected Book book1;
+
+    /**
+     * T1 and T2 block on latches; with tests running in parallel they'd starve the common pool.
+     */
+    protected ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        book1 = testSubject.save(book1());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+}
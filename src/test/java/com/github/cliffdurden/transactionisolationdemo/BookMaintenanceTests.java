@@ -0,0 +1,168 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.*;
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.CompletableFuture.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookMaintenanceTests extends AbstractDatabaseTests {
+
+    private static final MaintenanceChunking CHUNKS_OF_4 = new MaintenanceChunking(4, Duration.ZERO);
+
+    private static final Specification<Book> RATED_BELOW_100 = (book, query, builder) -> builder.lessThan(book.get("rating"), 100);
+
+    @Autowired
+    private BookMaintenanceService testSubject;
+
+    @Autowired
+    private BookServiceDemoImpl service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transaction;
+
+    private final List<MaintenanceProgress> progress = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> Book.builder().author("Author").title("Title " + i).rating(i * 10).build())
+                .toList());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "book_maintenance");
+    }
+
+    @DisplayName("[Maintenance] should delete matching books chunk by chunk and report progress after each.")
+    @Test
+    void testDeleteMatchingInChunks() {
+        val result = testSubject.deleteMatching(RATED_BELOW_100, CHUNKS_OF_4, progress::add);
+
+        assertEquals(10, result.rows());
+        assertEquals(3, result.chunks());
+        assertEquals(List.of(4L, 8L, 10L, 10L), progress.stream().map(MaintenanceProgress::rows).toList());
+        assertTrue(progress.get(progress.size() - 1).done());
+        assertEquals(15, repository.count());
+        assertTrue(repository.findAll().stream().allMatch(book -> book.getRating() >= 100));
+    }
+
+    @DisplayName("[Maintenance] should spare a book that stops matching between chunks.")
+    @Test
+    void testDeleteMatchingSparesBookChangedBetweenChunks() {
+        val book = bookRated(90); // in the third chunk
+        val result = testSubject.deleteMatching(RATED_BELOW_100, CHUNKS_OF_4, chunk -> {
+            progress.add(chunk);
+            if (chunk.chunks() == 1 && !chunk.done()) {
+                jdbcTemplate.update("UPDATE book SET rating = 500 WHERE id = ?", book.getId());
+            }
+        });
+
+        assertEquals(9, result.rows());
+        assertTrue(repository.existsById(book.getId()));
+    }
+
+    @DisplayName("[Maintenance] should spare a book that stops matching after its chunk was selected.")
+    @Test
+    @SneakyThrows
+    void testDeleteMatchingSparesBookChangedAfterSelect() {
+        val book = bookRated(10); // in the first chunk
+        val updated = new CountDownLatch(1);
+        val commit = new CountDownLatch(1);
+        val writer = runAsync(() -> transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE book SET rating = 500 WHERE id = ?", book.getId());
+            updated.countDown();
+            await(commit); // keep the row locked until the chunk's DELETE waits for it
+        }));
+        updated.await();
+
+        val maintenance = supplyAsync(() -> testSubject.deleteMatching(RATED_BELOW_100, CHUNKS_OF_4, progress::add));
+        awaitLockWait();
+        commit.countDown();
+        writer.get(10, TimeUnit.SECONDS);
+        val result = maintenance.get(10, TimeUnit.SECONDS);
+
+        assertEquals(9, result.rows());
+        assertTrue(repository.existsById(book.getId()), "The DELETE should re-check the predicate");
+    }
+
+    @DisplayName("[Maintenance] should rescale every rating and bump the versions.")
+    @Test
+    void testRescaleRatings() {
+        val result = testSubject.rescaleRatings(1, 10, CHUNKS_OF_4, progress::add);
+
+        assertEquals(25, result.rows());
+        assertEquals(7, result.chunks());
+        val books = repository.findAll();
+        assertEquals(IntStream.range(0, 25).boxed().toList(), books.stream().map(Book::getRating).sorted().toList());
+        assertTrue(books.stream().allMatch(book -> book.getVersion() == 1));
+    }
+
+    @DisplayName("[Maintenance] should rescale pending striped increments together with the rating.")
+    @Test
+    void testRescaleRatingsIncludesStripes() {
+        val book = repository.findAll().stream().filter(b -> b.getRating() == 50).findFirst().orElseThrow();
+        service.incrementRatingStriped(book.getId(), 30);
+        service.incrementRatingStriped(book.getId(), 20);
+
+        testSubject.rescaleRatings(1, 10, CHUNKS_OF_4, progress::add);
+
+        assertEquals(10, service.findStripedRating(book.getId()));
+        assertEquals(10, repository.findById(book.getId()).orElseThrow().getRating(), "The stripes should be compacted");
+    }
+
+    @DisplayName("[Maintenance] should zero ratings, pending striped increments included.")
+    @Test
+    void testResetRatings() {
+        val id = repository.findAll().get(0).getId();
+        service.incrementRatingStriped(id, 5);
+
+        testSubject.resetRatings(CHUNKS_OF_4, progress::add);
+
+        assertTrue(repository.findAll().stream().allMatch(book -> book.getRating() == 0));
+        assertEquals(0, service.findStripedRating(id));
+    }
+
+    @DisplayName("[Maintenance] should truncate the table.")
+    @Test
+    void testTruncate() {
+        testSubject.truncate(Duration.ofSeconds(1));
+
+        assertEquals(0, repository.count());
+    }
+
+    private Book bookRated(int rating) {
+        return repository.findAll().stream().filter(book -> book.getRating() == rating).findFirst().orElseThrow();
+    }
+
+    @SneakyThrows
+    private void awaitLockWait() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity "
+                + "WHERE datname = current_database() AND wait_event_type = 'Lock'", Integer.class) == 0) {
+            assertTrue(System.nanoTime() < deadline, "Nothing waits for a lock");
+            Thread.sleep(10);
+        }
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await();
+    }
+}
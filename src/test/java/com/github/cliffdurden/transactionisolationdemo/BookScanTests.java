@@ -0,0 +1,122 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookScanTests extends AbstractDatabaseTests {
+
+    @Autowired
+    private BookScanService testSubject;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // ratings 0, 1, 2, 0, 1, 2, ... so every rating is shared by several books
+    private List<Book> books;
+
+    @BeforeEach
+    void setUp() {
+        books = repository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> Book.builder().author("Author").title("Title " + i).rating(i % 3).build())
+                .toList());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "book_scan");
+    }
+
+    @DisplayName("[Keyset] pages should return every book once in (rating, id) order, also when a rating spans pages.")
+    @Test
+    void testForEachPageSplitsTiesWithoutGapsOrDuplicates() {
+        var pages = new ArrayList<List<Book>>();
+
+        long count = testSubject.forEachPage(-1, 4, pages::add);
+
+        assertEquals(25, count);
+        assertEquals(7, pages.size());
+        var expected = books.stream()
+                .sorted(Comparator.comparing(Book::getRating).thenComparing(Book::getId))
+                .map(Book::getId)
+                .toList();
+        assertEquals(expected, pages.stream().flatMap(List::stream).map(Book::getId).toList());
+    }
+
+    @DisplayName("[Keyset] a page should continue after the keyset inside a group of equal ratings.")
+    @Test
+    void testNextPageStartsInsideTie() {
+        var after = BookKeyset.of(books.get(4)); // second book rated 1
+
+        var page = testSubject.nextPage(0, after, 3);
+
+        assertEquals(List.of(books.get(7).getId(), books.get(10).getId(), books.get(13).getId()),
+                page.stream().map(Book::getId).toList());
+    }
+
+    @DisplayName("[Keyset] pages should stop at minRating.")
+    @Test
+    void testForEachPageRespectsMinRating() {
+        var ids = new ArrayList<Long>();
+
+        long count = testSubject.forEachPage(1, 5, page -> page.forEach(book -> ids.add(book.getId())));
+
+        assertEquals(8, count);
+        assertEquals(books.stream().filter(book -> book.getRating() == 2).map(Book::getId).toList(), ids);
+    }
+
+    @DisplayName("[Keyset] a book whose rating changes during the scan may be skipped or read twice.")
+    @Test
+    void testForEachPageFollowsRatingChanges() {
+        var ids = new ArrayList<Long>();
+        var changed = new boolean[1];
+
+        testSubject.forEachPage(-1, 4, page -> {
+            page.forEach(book -> ids.add(book.getId()));
+            if (!changed[0]) {
+                changed[0] = true;
+                // the first page ends at the fourth book rated 0, books.get(9)
+                jdbcTemplate.update("UPDATE book SET rating = 0 WHERE id = ?", books.get(2).getId()); // behind the keyset
+                jdbcTemplate.update("UPDATE book SET rating = 2 WHERE id = ?", books.get(0).getId()); // ahead of it
+            }
+        });
+
+        assertFalse(ids.contains(books.get(2).getId()), "A book moved behind the keyset should be skipped");
+        assertEquals(2, Collections.frequency(ids, books.get(0).getId()), "A book moved ahead should be read again");
+    }
+
+    @DisplayName("[Stream] streaming should return every matching book once in id order.")
+    @Test
+    void testStreamCoversEveryMatchingBook() {
+        var ids = new ArrayList<Long>();
+
+        long count = testSubject.streamBooksWithRatingGreaterThan(0, book -> ids.add(book.getId()));
+
+        assertEquals(16, count);
+        assertEquals(books.stream().filter(book -> book.getRating() > 0).map(Book::getId).toList(), ids);
+    }
+
+    @DisplayName("[Slice] slices should together return every matching book once.")
+    @Test
+    void testSlicesCoverEveryMatchingBook() {
+        var ids = new ArrayList<Long>();
+        Pageable pageable = PageRequest.of(0, 5, Sort.by("id"));
+        Slice<Book> slice;
+        do {
+            slice = repository.findAllByRatingGreaterThan(0, pageable);
+            slice.forEach(book -> ids.add(book.getId()));
+            pageable = slice.nextPageable();
+        } while (slice.hasNext());
+
+        assertEquals(books.stream().filter(book -> book.getRating() > 0).map(Book::getId).toList(), ids);
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.concurrency.ConcurrentTransactionRunner;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.*;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class ConcurrentTransactionRunnerTests extends AbstractDatabaseTests {
+
+    @Autowired
+    private ConcurrentTransactionRunner testSubject;
+
+    @Autowired
+    private BookServiceDemoImpl service;
+
+    private Book book1;
+
+    @BeforeEach
+    void setUp() {
+        book1 = service.save(book1());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "concurrent_runner");
+    }
+
+    @DisplayName("[Runner] should run far more concurrent transactions than the pool has connections.")
+    @Test
+    void testManyTransactionsOnSmallPool() {
+        final var transactions = 2000;
+
+        val report = testSubject.run(transactions, readCommitted(),
+                (index, barrier) -> service.incrementRating(book1.getId(), 1));
+        log.info("{}", report);
+
+        assertEquals(transactions, report.commits());
+        assertTrue(report.poolSize() < transactions);
+        assertEquals(transactions, repository.findById(book1.getId()).orElseThrow().getRating());
+    }
+
+    @DisplayName("[Runner / Isolation.REPEATABLE_READ / Lost update] should let only one of two phased read-modify-writes commit.")
+    @Test
+    void testPhasedReadModifyWrite() {
+        var definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        val report = testSubject.run(2, definition, (index, barrier) -> {
+            var book = repository.findById(book1.getId()).orElseThrow();
+            barrier.arriveAndAwait(); // both transactions have read the same version
+            book.setRating(book.getRating() + 1);
+            repository.saveAndFlush(book);
+        });
+        log.info("{}", report);
+
+        assertEquals(1, report.commits());
+        assertEquals(1, report.aborts() + report.failures());
+        assertEquals(1, repository.findById(book1.getId()).orElseThrow().getRating(), "Only one increment should be applied");
+    }
+
+    private static TransactionDefinition readCommitted() {
+        var definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return definition;
+    }
+}
@@ -0,0 +1,123 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.*;
+import org.springframework.test.context.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.CompletableFuture.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Dirty reads: T1 reads a book while T2 holds an uncommitted change of it.
+ * Every test only touches its own {@code book1}, and T1 never writes, so even the SERIALIZABLE T1 can't conflict with
+ * another test: the tests run concurrently on the class's database.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class DirtyReadTests extends AbstractIsolationScenarioTests {
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "dirty_read");
+    }
+
+    @Override
+    @AfterEach
+    void deleteBooks() {
+        repository.deleteById(book1.getId());
+    }
+
+    @DisplayName("[Isolation.READ_UNCOMMITTED / Dirty read] shouldn't read non-committed changes because Postgres does not support this Isolation Level.")
+    @Test
+    @SneakyThrows
+    void testDirtyReadWhenIsolationLevelIsReadUncommitted() {
+        final var newRating = 10;
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1aux = new CountDownLatch(1);
+        CountDownLatch latchT2 = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.dirtyReadWhenIsolationLevelIsReadUncommittedT1(latchT1, latchT1aux, book1.getId()),
+                executor
+        );
+        latchT1aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject.updateRatingT2(latchT2, book1.getId(), newRating), executor);
+
+        latchT1.countDown();
+        val result = future1.get();
+        latchT2.countDown();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+    }
+
+    @DisplayName("[Isolation.READ_COMMITTED / Dirty read] shouldn't read non-committed changes.")
+    @Test
+    @SneakyThrows
+    void testDirtyReadWhenIsolationLevelIsReadCommitted() {
+        final var newRating = 10;
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1aux = new CountDownLatch(1);
+        CountDownLatch latchT2 = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.dirtyReadWhenIsolationLevelIsReadCommittedT1(latchT1, latchT1aux, book1.getId()),
+                executor
+        );
+        latchT1aux.await(); // wait T1 has been started
+        runAsync(() -> testSubject.updateRatingT2(latchT2, book1.getId(), newRating), executor);
+
+        latchT1.countDown();
+        val result = future1.get();
+        latchT2.countDown();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+    }
+
+    @DisplayName("[Isolation.REPEATABLE_READ / Dirty read] shouldn't read non-committed changes.")
+    @Test
+    @SneakyThrows
+    void testDirtyReadWhenIsolationLevelIsRepeatableRead() {
+        final var newRating = 10;
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1aux = new CountDownLatch(1);
+        CountDownLatch latchT2 = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.dirtyReadWhenIsolationLevelIsRepeatableReadT1(latchT1, latchT1aux, book1.getId()),
+                executor
+        );
+        latchT1aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject.updateRatingT2(latchT2, book1.getId(), newRating), executor);
+
+        latchT1.countDown();
+        val result = future1.get();
+        latchT2.countDown();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+    }
+
+    @DisplayName("[Isolation.SERIALIZABLE / Dirty read] shouldn't read non-committed changes. Isolation.SERIALIZABLE")
+    @Test
+    @SneakyThrows
+    void testDirtyReadWhenIsolationLevelIsSerializable() {
+        final var newRating = 10;
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1aux = new CountDownLatch(1);
+        CountDownLatch latchT2 = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.dirtyReadWhenIsolationLevelIsSerializableT1(latchT1, latchT1aux, book1.getId()),
+                executor
+        );
+        latchT1aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject.updateRatingT2(latchT2, book1.getId(), newRating), executor);
+
+        latchT1.countDown();
+        val result = future1.get();
+        latchT2.countDown();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+    }
+}
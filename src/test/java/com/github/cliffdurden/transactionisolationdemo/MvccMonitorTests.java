@@ -0,0 +1,96 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.mvcc.MvccMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.*;
+
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "demo.mvcc-monitor.enabled=true",
+        "demo.mvcc-monitor.interval=PT1H",
+        "demo.mvcc-monitor.long-transaction-age=PT0.5S",
+        "demo.mvcc-monitor.action=TERMINATE",
+        "demo.mvcc-monitor.action-application-names=" + MvccMonitorTests.TERMINABLE
+})
+class MvccMonitorTests extends AbstractDatabaseTests {
+
+    static final String TERMINABLE = "terminable";
+
+    private static final String DATABASE = "mvcc_monitor";
+
+    @Autowired
+    private MvccMonitor testSubject;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, DATABASE);
+    }
+
+    @DisplayName("[MVCC] should report long REPEATABLE READ snapshots and terminate only the allowed ones.")
+    @Test
+    @SneakyThrows
+    void testTerminatesLongRunningSnapshot() {
+        try (var terminable = holdSnapshot(TERMINABLE);
+             var other = holdSnapshot("other");
+             var writer = TemplateDatabases.dataSource(DATABASE).getConnection()) {
+            for (int i = 0; i < 5; i++) {
+                writer.createStatement().execute("SELECT txid_current()"); // every call consumes a transaction id
+            }
+            Thread.sleep(600);
+
+            testSubject.sample();
+
+            assertTrue(testSubject.getOldestTransactionAge().toMillis() >= 500);
+            assertTrue(testSubject.getXminHorizonAge() >= 5, "The snapshots should hold the horizon behind the 5 new xids");
+            assertEquals(2, testSubject.getLongTransactions());
+            assertEquals(1, registry.get(MvccMonitor.LONG_TRANSACTION_ACTIONS).tag("action", "TERMINATE").counter().count());
+            assertThrows(SQLException.class, () -> terminable.createStatement().execute("SELECT 1"));
+            assertDoesNotThrow(() -> other.createStatement().execute("SELECT 1"));
+        }
+    }
+
+    @DisplayName("[MVCC] should count dead tuples of the book table left by updates.")
+    @Test
+    @SneakyThrows
+    void testTracksDeadTuples() {
+        val book = repository.save(Book.builder().author("Author").title("Title").rating(0).build());
+        try (var connection = TemplateDatabases.dataSource(DATABASE).getConnection();
+             var update = connection.prepareStatement("UPDATE book SET rating = rating + 1 WHERE id = ?")) {
+            for (int i = 0; i < 10; i++) {
+                update.setLong(1, book.getId());
+                update.executeUpdate();
+            }
+            // backends publish table statistics lazily; make this one do it as soon as it's idle
+            connection.createStatement().execute("SELECT pg_stat_force_next_flush()");
+        }
+        Thread.sleep(200);
+
+        testSubject.sample();
+
+        assertTrue(testSubject.getDeadTuples("book").orElseThrow() > 0);
+        assertEquals(10, repository.findById(book.getId()).orElseThrow().getRating());
+    }
+
+    /**
+     * Takes a REPEATABLE READ snapshot, then stays idle in transaction.
+     */
+    private static Connection holdSnapshot(String applicationName) throws SQLException {
+        var connection = TemplateDatabases.dataSource(DATABASE).getConnection();
+        connection.setClientInfo("ApplicationName", applicationName);
+        connection.setAutoCommit(false);
+        connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        connection.createStatement().execute("SELECT count(*) FROM book");
+        return connection;
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.*;
+import org.springframework.test.context.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.CompletableFuture.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Non-repeatable reads: T1 reads a book twice, T2 commits a change in between.
+ * Every test only touches its own {@code book1}, and T1 never writes, so even the SERIALIZABLE T1 can't conflict with
+ * another test: the tests run concurrently on the class's database.
+ */
+@Execution(ExecutionMode.CONCURRENT)
+class NonRepeatableReadTests extends AbstractIsolationScenarioTests {
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "non_repeatable_read");
+    }
+
+    @Override
+    @AfterEach
+    void deleteBooks() {
+        repository.deleteById(book1.getId());
+    }
+
+    @DisplayName("[Isolation.READ_UNCOMMITTED / Non-repeatable read] should read committed changes has been made by another transaction.")
+    @Test
+    @SneakyThrows
+    void testNonRepeatableReadWhenIsolationLevelIsReadUncommitted() {
+        final var newRating = 10;
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.nonRepeatableReadWhenIsolationLevelIsReadUncommittedT1(latch, latchT1Aux, book1.getId()),
+                executor
+        );
+        latchT1Aux.await(); //wait until T1 has been started
+        runAsync(() -> testSubject
+                .updateRatingT2(book1.getId(), newRating), executor)
+                .thenAccept((__) -> latch.countDown());
+        val result = future1.get();
+
+        assertEquals(newRating, result.getRating(), "Rating should be from the committed transaction");
+    }
+
+    @DisplayName("[Isolation.READ_COMMITTED / Non-repeatable read] should read committed changes has been made by another transaction.")
+    @Test
+    @SneakyThrows
+    void testNonRepeatableReadWhenIsolationLevelIsReadCommitted() {
+        final var newRating = 10;
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.nonRepeatableReadWhenIsolationLevelIsReadCommittedT1(latch, latchT1Aux, book1.getId()),
+                executor
+        );
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .updateRatingT2(book1.getId(), newRating), executor)
+                .thenAccept((__) -> latch.countDown());
+        val result = future1.get();
+
+        assertEquals(newRating, result.getRating(), "Rating should be from the committed transaction");
+    }
+
+    @DisplayName("[Isolation.REPEATABLE_READ / Non-repeatable read] shouldn't read committed changes has been made by another transaction.")
+    @Test
+    @SneakyThrows
+    void testNonRepeatableReadWhenIsolationLevelIsRepeatableRead() {
+        final var newRating = 10;
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.nonRepeatableReadWhenIsolationLevelIsRepeatableReadT1(latchT1, latchT1Aux, book1.getId()),
+                executor
+        );
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .updateRatingT2(book1.getId(), newRating), executor)
+                .thenAccept((__) -> latchT1.countDown());
+        val result = future1.get();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+    }
+
+    @DisplayName("[Isolation.Isolation.SERIALIZABLE / Non-repeatable read] shouldn't read committed changes has been made by another transaction.")
+    @Test
+    @SneakyThrows
+    void testNonRepeatableReadWhenIsolationLevelIsSerializable() {
+        final var newRating = 10;
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+
+        var future1 = supplyAsync(
+                () -> testSubject.nonRepeatableReadWhenIsolationLevelIsSerializableT1(latchT1, latchT1Aux, book1.getId()),
+                executor
+        );
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .updateRatingT2(book1.getId(), newRating), executor)
+                .thenAccept((__) -> latchT1.countDown());
+        val result = future1.get();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+    }
+}
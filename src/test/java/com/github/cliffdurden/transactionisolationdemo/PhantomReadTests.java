@@ -0,0 +1,104 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.springframework.test.context.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.CompletableFuture.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Phantom reads: T1 reads all books twice, T2 inserts books in between.
+ */
+class PhantomReadTests extends AbstractIsolationScenarioTests {
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "phantom_read");
+    }
+
+    @DisplayName("[Isolation.READ_UNCOMMITTED / Phantom read] should read rows has been inserted by another transaction.")
+    @Test
+    @SneakyThrows
+    void testPhantomReadReadWhenIsolationLevelIsReadUncommitted() {
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+        var book2 = book2();
+        var book3 = book3();
+
+        var future1 = supplyAsync(
+                () -> testSubject.phantomReadWhenIsolationLevelIsReadUncommittedT1(latchT1, latchT1Aux),
+                executor
+        );
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .addBooksT2(book2, book3), executor)
+                .thenAccept((__) -> latchT1.countDown());
+        val result = future1.get();
+
+        assertEquals(3, result.size(), "Count should has been affected by another transaction");
+    }
+
+    @DisplayName("[Isolation.READ_COMMITTED / Phantom read] should read rows has been inserted by another transaction.")
+    @Test
+    @SneakyThrows
+    void testPhantomReadReadWhenIsolationLevelIsReadCommitted() {
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+        var book2 = book2();
+        var book3 = book3();
+
+        var future1 = supplyAsync(
+                () -> testSubject.phhantomReadWhenIsolationLevelIsReadCommittedT1(latchT1, latchT1Aux),
+                executor
+        );
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .addBooksT2(book2, book3), executor)
+                .thenAccept((__) -> latchT1.countDown());
+        val result = future1.get();
+
+        assertEquals(3, result.size(), "Count should has been affected by another transaction");
+    }
+
+    @DisplayName("[Isolation.REPEATABLE_READ / Phantom read] shouldn't read rows has been inserted by another transaction. (Allowed, but not in PG)")
+    @Test
+    @SneakyThrows
+    void testPhantomReadReadWhenIsolationLevelIsRepeatableRead() {
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+        var book2 = book2();
+        var book3 = book3();
+
+        var future1 = supplyAsync(() -> testSubject.phantomReadWhenIsolationLevelIsRepeatableReadT1(latchT1, latchT1Aux), executor);
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .addBooksT2(book2, book3), executor)
+                .thenAccept((__) -> latchT1.countDown());
+        latchT1.countDown();
+        val result = future1.get();
+
+        assertEquals(1, result.size(), "Count should has not been affected by another transaction");
+    }
+
+    @DisplayName("[Isolation.SERIALIZABLE / Phantom read] shouldn't read rows has been inserted by another transaction.")
+    @Test
+    @SneakyThrows
+    void testPhantomReadReadWhenIsolationLevelIsSerializable() {
+        CountDownLatch latchT1 = new CountDownLatch(1);
+        CountDownLatch latchT1Aux = new CountDownLatch(1);
+        var book2 = book2();
+        var book3 = book3();
+
+        var future1 = supplyAsync(() -> testSubject.phantomReadWhenIsolationLevelIsSerializableT1(latchT1, latchT1Aux), executor);
+        latchT1Aux.await(); // wait until T1 has been started
+        runAsync(() -> testSubject
+                .addBooksT2(book2, book3), executor)
+                .thenAccept((__) -> latchT1.countDown());
+        val result = future1.get();
+
+        assertEquals(1, result.size(), "Count should has not been affected by another transaction");
+    }
+}
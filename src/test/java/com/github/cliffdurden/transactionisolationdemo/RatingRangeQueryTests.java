@@ -0,0 +1,50 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.repository.BookSummary;
+import org.junit.jupiter.api.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.*;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingRangeQueryTests extends AbstractDatabaseTests {
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "rating_range_query");
+    }
+
+    @DisplayName("[Projection] summaries should carry id, title and rating of the books above the rating.")
+    @Test
+    void testSummariesByRatingGreaterThan() {
+        var book1 = repository.save(book1());
+        var book2 = repository.save(book2());
+        var book3 = repository.save(book3());
+
+        var summaries = repository.findSummariesByRatingGreaterThan(0);
+
+        assertEquals(Set.of(summaryOf(book2), summaryOf(book3)), new HashSet<>(summaries));
+        assertFalse(summaries.contains(summaryOf(book1)));
+    }
+
+    @DisplayName("[Projection] best books should come by rating descending, ties by id descending, limited to the page.")
+    @Test
+    void testBestAboveOrdersAndLimits() {
+        var books = repository.saveAll(Stream.of(3, 7, 1, 7, 9, 7)
+                .map(rating -> Book.builder().author("Author").title("Rated " + rating).rating(rating).build())
+                .toList());
+
+        var best = repository.findBestAbove(1, PageRequest.of(0, 3));
+
+        assertEquals(List.of(summaryOf(books.get(4)), summaryOf(books.get(5)), summaryOf(books.get(3))), best);
+        assertEquals(List.of(summaryOf(books.get(1)), summaryOf(books.get(0))), repository.findBestAbove(1, PageRequest.of(1, 3)));
+    }
+
+    private static BookSummary summaryOf(Book book) {
+        return new BookSummary(book.getId(), book.getTitle(), book.getRating());
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.concurrency.ConcurrentTransactionRunner;
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.*;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.CompletableFuture.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class RatingUpdateTests extends AbstractDatabaseTests {
+
+    @Autowired
+    private BookServiceDemoImpl testSubject;
+
+    @Autowired
+    private ConcurrentTransactionRunner runner;
+
+    private Book book1;
+
+    @BeforeEach
+    void setUp() {
+        book1 = testSubject.save(book1());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "rating_update");
+    }
+
+    @DisplayName("[Lost update / read-modify-write] should overwrite a change committed after the read.")
+    @Test
+    void testReadModifyWriteLosesConcurrentChange() {
+        val report = runner.run(2, readCommitted(),
+                (index, barrier) -> testSubject.incrementRatingReadModifyWrite(book1.getId(), 1, barrier));
+        log.info("{}", report);
+
+        assertEquals(2, report.commits());
+        assertEquals(1, repository.findById(book1.getId()).orElseThrow().getRating(), "One increment should be lost");
+    }
+
+    @DisplayName("[Lost update / optimistic] should fail the stale transaction instead of overwriting a committed change.")
+    @Test
+    void testOptimisticIncrementFailsOnConcurrentChange() {
+        val report = runner.run(2, readCommitted(),
+                (index, barrier) -> testSubject.incrementRatingOptimistically(book1.getId(), 1, barrier));
+        log.info("{}", report);
+
+        assertEquals(1, report.commits());
+        assertEquals(1, report.failures(), "The stale transaction should fail with an optimistic locking failure");
+        val result = repository.findById(book1.getId()).orElseThrow();
+        assertEquals(1, result.getRating(), "Only one increment should be applied");
+        assertEquals(1, result.getVersion());
+    }
+
+    @DisplayName("[Lost update / atomic increment] should apply every concurrent increment.")
+    @Test
+    @SneakyThrows
+    void testAtomicIncrementDoesNotLoseUpdates() {
+        final var threads = 8;
+        final var incrementsPerThread = 25;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = IntStream.range(0, threads)
+                    .mapToObj(i -> runAsync(() -> {
+                        for (int j = 0; j < incrementsPerThread; j++) {
+                            testSubject.incrementRating(book1.getId(), 1);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            allOf(futures).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        val result = repository.findById(book1.getId()).orElseThrow();
+        assertEquals(threads * incrementsPerThread, result.getRating(), "Every increment should be applied");
+        assertEquals(threads * incrementsPerThread, result.getVersion(), "Every increment should bump the version");
+    }
+
+    @DisplayName("[Atomic update] should set the rating in a single statement.")
+    @Test
+    void testAtomicUpdate() {
+        assertTrue(testSubject.updateRatingAtomically(book1.getId(), 7));
+        assertFalse(testSubject.updateRatingAtomically(-1L, 7));
+
+        assertEquals(7, repository.findById(book1.getId()).orElseThrow().getRating());
+    }
+
+    @DisplayName("[Striped counter] should apply every concurrent increment and fold them into the rating on compaction.")
+    @Test
+    @SneakyThrows
+    void testStripedIncrementsAreCompactedIntoRating() {
+        final var threads = 8;
+        final var incrementsPerThread = 25;
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = IntStream.range(0, threads)
+                    .mapToObj(i -> runAsync(() -> {
+                        for (int j = 0; j < incrementsPerThread; j++) {
+                            testSubject.incrementRatingStriped(book1.getId(), 1, 4);
+                        }
+                    }, executor))
+                    .toArray(CompletableFuture[]::new);
+            allOf(futures).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * incrementsPerThread, testSubject.findStripedRating(book1.getId()));
+        assertEquals(0, repository.findById(book1.getId()).orElseThrow().getRating(), "Not compacted yet");
+
+        assertEquals(1, testSubject.compactRatingStripes());
+        val result = repository.findById(book1.getId()).orElseThrow();
+        assertEquals(threads * incrementsPerThread, result.getRating());
+        assertEquals(1, result.getVersion(), "Compaction should bump the version once");
+        assertEquals(threads * incrementsPerThread, testSubject.findStripedRating(book1.getId()));
+        assertEquals(0, testSubject.compactRatingStripes(), "Nothing left to compact");
+    }
+
+    private static TransactionDefinition readCommitted() {
+        var definition = new DefaultTransactionDefinition();
+        definition.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return definition;
+    }
+}
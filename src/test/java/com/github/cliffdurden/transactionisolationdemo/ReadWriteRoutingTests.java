@@ -0,0 +1,71 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two databases on one PostgreSQL instance stand in for a primary and its replica.
+ * They are not replicated, so a row inserted into the "replica" only shows where a query has been routed.
+ */
+@SpringBootTest(properties = {
+        "demo.datasource.routing.enabled=true",
+        "demo.datasource.routing.sticky-window=PT0S"
+})
+class ReadWriteRoutingTests extends AbstractDatabaseTests {
+
+    private static final String REPLICA_DB = "read_write_routing_replica";
+
+    private static final long REPLICA_ONLY_BOOK_ID = 1_000_000L;
+
+    @Autowired
+    private BookServiceDemoImpl testSubject;
+
+    private Book book1;
+
+    @BeforeEach
+    void setUp() {
+        book1 = testSubject.save(book1());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "read_write_routing");
+        var replicaUrl = createReplica();
+        registry.add("demo.datasource.routing.replica.url", () -> replicaUrl);
+    }
+
+    @DisplayName("[Routing] read-only transactions should be served by the replica.")
+    @Test
+    void testReadOnlyTransactionGoesToReplica() {
+        val result = testSubject.findBooksWithRatingGreaterThan(-1);
+
+        assertEquals(1, result.size());
+        assertEquals(REPLICA_ONLY_BOOK_ID, result.get(0).getId(), "Only the replica has this book");
+    }
+
+    @DisplayName("[Routing] read-write transactions should be served by the primary.")
+    @Test
+    void testReadWriteTransactionGoesToPrimary() {
+        assertTrue(testSubject.updateRatingAtomically(book1.getId(), 10));
+        assertFalse(testSubject.updateRatingAtomically(REPLICA_ONLY_BOOK_ID, 10), "The primary doesn't have this book");
+    }
+
+    /**
+     * Another copy of the template, with a book the primary doesn't have.
+     */
+    private static String createReplica() {
+        var url = TemplateDatabases.create(REPLICA_DB);
+        new JdbcTemplate(TemplateDatabases.dataSource(REPLICA_DB))
+                .update("INSERT INTO book (id, author, rating, title) VALUES (?, 'Replica', 5, 'Replica only')",
+                        REPLICA_ONLY_BOOK_ID);
+        return url;
+    }
+}
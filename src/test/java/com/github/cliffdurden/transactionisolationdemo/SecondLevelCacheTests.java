@@ -0,0 +1,127 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.cache.SecondLevelCacheStatistics;
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookIngestionService;
+import com.github.cliffdurden.transactionisolationdemo.service.BookServiceDemoImpl;
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.CompletableFuture.runAsync;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("l2cache")
+class SecondLevelCacheTests extends AbstractDatabaseTests {
+
+    @Autowired
+    private BookServiceDemoImpl testSubject;
+
+    @Autowired
+    private SecondLevelCacheStatistics statistics;
+
+    @Autowired
+    private BookIngestionService ingestionService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Book book1;
+
+    @BeforeEach
+    void setUp() {
+        book1 = testSubject.save(book1());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "second_level_cache");
+    }
+
+    @DisplayName("[Cache / Isolation.READ_COMMITTED] repeated reads should be served by the second-level cache.")
+    @Test
+    void testReadsAreCached() {
+        repository.findById(book1.getId()).orElseThrow();
+        val hitsBefore = statistics.region(Book.CACHE_REGION).hits();
+
+        repository.findById(book1.getId()).orElseThrow();
+
+        assertEquals(hitsBefore + 1, statistics.region(Book.CACHE_REGION).hits());
+    }
+
+    @DisplayName("[Cache / COPY] cached rating queries should see books ingested with COPY.")
+    @Test
+    void testCopyIngestionInvalidatesQueryCache() {
+        assertTrue(testSubject.findBooksWithRatingGreaterThan(0).isEmpty()); // cached, book1 is rated 0
+
+        ingestionService.ingestWithCopy(Stream.of(book2()));
+
+        assertEquals(1, testSubject.findBooksWithRatingGreaterThan(0).size());
+    }
+
+    @DisplayName("[Cache / Isolation.REPEATABLE_READ] should bypass the second-level cache.")
+    @Test
+    void testRepeatableReadBypassesCache() {
+        repository.findById(book1.getId()).orElseThrow();
+        val before = statistics.region(Book.CACHE_REGION);
+
+        transaction(Isolation.REPEATABLE_READ).execute(status -> repository.findById(book1.getId()).orElseThrow());
+
+        val after = statistics.region(Book.CACHE_REGION);
+        assertEquals(before.hits(), after.hits());
+        assertEquals(before.misses(), after.misses());
+    }
+
+    @DisplayName("[Cache / Dirty read] shouldn't serve a change that has been flushed but not committed.")
+    @Test
+    @SneakyThrows
+    void testCacheDoesNotExposeUncommittedChanges() {
+        final var newRating = 10;
+        CountDownLatch latchT2 = new CountDownLatch(1);
+        CountDownLatch latchT2Aux = new CountDownLatch(1);
+        repository.findById(book1.getId()).orElseThrow(); // warm up the cache
+
+        var future2 = runAsync(() -> transaction(Isolation.READ_COMMITTED).executeWithoutResult(status -> {
+            var book = repository.findById(book1.getId()).orElseThrow();
+            book.setRating(newRating);
+            repository.saveAndFlush(book);
+            latchT2Aux.countDown();
+            awaitQuietly(latchT2);
+        }));
+        latchT2Aux.await(); // wait until T2 has flushed its change
+        val result = repository.findById(book1.getId()).orElseThrow();
+        latchT2.countDown();
+        future2.get();
+
+        assertEquals(book1.getRating(), result.getRating(), "Rating should the same as before the transaction");
+        assertEquals(newRating, repository.findById(book1.getId()).orElseThrow().getRating(), "Committed rating should be visible");
+    }
+
+    @DisplayName("[Cache / Bulk update] should invalidate cached books.")
+    @Test
+    void testBulkUpdateInvalidatesCache() {
+        repository.findById(book1.getId()).orElseThrow();
+
+        testSubject.updateRatingAtomically(book1.getId(), 7);
+
+        assertEquals(7, repository.findById(book1.getId()).orElseThrow().getRating());
+    }
+
+    private TransactionTemplate transaction(Isolation isolation) {
+        var template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(isolation.value());
+        return template;
+    }
+
+    @SneakyThrows
+    private static void awaitQuietly(CountDownLatch latch) {
+        latch.await();
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.*;
+import lombok.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotExportTests extends AbstractDatabaseTests {
+
+    private static final byte[] BINARY_COPY_SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    @Autowired
+    private BookSnapshotExporter testSubject;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    private Path directory;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        ids = repository.saveAll(IntStream.range(0, 100)
+                        .mapToObj(i -> Book.builder().author("Author").title("Title, \"" + i + "\"").rating(i).build())
+                        .toList())
+                .stream()
+                .map(Book::getId)
+                .toList();
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "snapshot_export");
+    }
+
+    @DisplayName("[Export] parallel workers should together export every book exactly once.")
+    @Test
+    @SneakyThrows
+    void testCsvExportCoversEveryBookOnce() {
+        val export = testSubject.export(directory, 4, ExportFormat.CSV);
+
+        assertEquals(100, export.rows());
+        assertEquals(4, export.files().size());
+        var exportedIds = new ArrayList<Long>();
+        for (var file : export.files()) {
+            var lines = Files.readAllLines(file);
+            assertTrue(lines.get(0).startsWith("id,title"), "Every file should start with a header");
+            lines.stream().skip(1).map(line -> Long.valueOf(line.substring(0, line.indexOf(',')))).forEach(exportedIds::add);
+        }
+        assertEquals(ids, exportedIds, "Files should be in id order without gaps or duplicates");
+    }
+
+    @DisplayName("[Export] binary export should produce COPY binary files.")
+    @Test
+    @SneakyThrows
+    void testBinaryExport() {
+        val export = testSubject.export(directory, 2, ExportFormat.BINARY);
+
+        assertEquals(100, export.rows());
+        for (var file : export.files()) {
+            var bytes = Files.readAllBytes(file);
+            assertArrayEquals(BINARY_COPY_SIGNATURE, Arrays.copyOf(bytes, BINARY_COPY_SIGNATURE.length));
+        }
+    }
+
+    @DisplayName("[Export] changes committed after the snapshot was exported should not be in the files.")
+    @Test
+    @SneakyThrows
+    void testExportShowsSnapshotDespiteConcurrentChanges() {
+        val export = testSubject.export(directory, 4, ExportFormat.CSV, snapshot -> {
+            jdbcTemplate.update("UPDATE book SET title = 'Changed', rating = rating + 1000 WHERE id <= ?", ids.get(9));
+            jdbcTemplate.update("DELETE FROM book WHERE id >= ?", ids.get(90));
+            repository.save(Book.builder().author("Author").title("Changed").rating(1).build());
+        });
+
+        assertEquals(100, export.rows());
+        var exportedIds = new ArrayList<Long>();
+        for (var file : export.files()) {
+            var lines = Files.readAllLines(file);
+            lines.stream().skip(1).forEach(line -> {
+                assertFalse(line.contains("Changed"), () -> "Row changed after the snapshot: " + line);
+                exportedIds.add(Long.valueOf(line.substring(0, line.indexOf(','))));
+            });
+        }
+        assertEquals(ids, exportedIds, "Deleted books should be exported, inserted ones not");
+        assertEquals(91, repository.count(), "The changes should have been committed");
+    }
+
+    @DisplayName("[Export] more workers than the pool can serve next to the coordinator should be rejected.")
+    @Test
+    void testRejectsMoreWorkersThanPoolConnections() {
+        // the test pool has Hikari's default of 10 connections
+        assertThrows(IllegalArgumentException.class, () -> testSubject.export(directory, 10, ExportFormat.CSV));
+        assertDoesNotThrow(() -> testSubject.export(directory, 9, ExportFormat.CSV));
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.stress.StressWorkload;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.*;
+import org.springframework.transaction.annotation.Isolation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Updates only, on two hot books: concurrent read-modify-writes of the same book are all but certain.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "demo.stress.books=2",
+        "demo.stress.transactions=400",
+        "demo.stress.read-weight=0",
+        "demo.stress.update-weight=100",
+        "demo.stress.insert-weight=0",
+        "demo.stress.write-skew-weight=0",
+        "demo.stress.write-skew-pairs=2"
+})
+class StressWorkloadTests extends AbstractDatabaseTests {
+
+    @Autowired
+    private StressWorkload testSubject;
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "stress_workload");
+    }
+
+    @DisplayName("[Stress / Isolation.READ_COMMITTED] concurrent read-modify-writes should lose updates.")
+    @Test
+    void testReadCommittedLosesUpdates() {
+        val report = testSubject.run(Isolation.READ_COMMITTED, 0.0);
+
+        assertTrue(report.lostUpdates() > 0, "Some committed increments should be overwritten: " + report);
+        assertEquals(0, report.run().aborts());
+    }
+
+    @DisplayName("[Stress / Isolation.REPEATABLE_READ] concurrent read-modify-writes should abort instead of losing updates.")
+    @Test
+    void testRepeatableReadAbortsInsteadOfLosingUpdates() {
+        val report = testSubject.run(Isolation.REPEATABLE_READ, 0.0);
+
+        assertEquals(0, report.lostUpdates(), "" + report);
+        assertTrue(report.run().aborts() > 0, "Concurrent updates of a book should fail to serialize: " + report);
+    }
+}
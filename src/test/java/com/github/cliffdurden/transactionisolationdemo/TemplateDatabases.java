@@ -0,0 +1,75 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+/**
+ * One PostgreSQL container for the whole run, with a template database migrated once. Test classes get a copy each
+ * ({@code CREATE DATABASE ... TEMPLATE}, a file copy, much faster than migrating), so they can run in parallel
+ * without seeing each other's rows. The container is stopped with the JVM.
+ * Every test class keeps a context, and so a connection pool, open until the end of the run, hence the raised
+ * {@code max_connections}.
+ */
+final class TemplateDatabases {
+
+    private static final String TEMPLATE = "book_template";
+
+    private static final PostgreSQLContainer<?> db = new PostgreSQLContainer<>("postgres:15.2")
+            .withCommand("postgres", "-c", "max_connections=500");
+
+    private static final Set<String> created = new HashSet<>();
+
+    private TemplateDatabases() {
+    }
+
+    /**
+     * Points the application at a fresh copy of the template named {@code database}.
+     */
+    static void register(DynamicPropertyRegistry registry, String database) {
+        var url = create(database);
+        registry.add("DB_URL", () -> url);
+        registry.add("DB_USERNAME", db::getUsername);
+        registry.add("DB_PASSWORD", db::getPassword);
+    }
+
+    /**
+     * Creates a copy of the template named {@code database} and returns its JDBC URL. Synchronized: PostgreSQL refuses
+     * to copy a template while anyone else is connected to it.
+     */
+    static synchronized String create(String database) {
+        if (!db.isRunning()) {
+            db.start();
+            admin().execute("CREATE DATABASE " + TEMPLATE);
+            Flyway.configure()
+                    .dataSource(jdbcUrl(TEMPLATE), db.getUsername(), db.getPassword())
+                    .load()
+                    .migrate();
+        }
+        if (!created.add(database)) {
+            throw new IllegalStateException("Database " + database + " is already used by another test class");
+        }
+        admin().execute("CREATE DATABASE " + database + " TEMPLATE " + TEMPLATE);
+        return jdbcUrl(database);
+    }
+
+    /**
+     * Unpooled connections to a database created by {@link #create} or {@link #register}, for work outside the context.
+     */
+    static DataSource dataSource(String database) {
+        return new DriverManagerDataSource(jdbcUrl(database), db.getUsername(), db.getPassword());
+    }
+
+    private static JdbcTemplate admin() {
+        return new JdbcTemplate(new DriverManagerDataSource(db.getJdbcUrl(), db.getUsername(), db.getPassword()));
+    }
+
+    private static String jdbcUrl(String database) {
+        return db.getJdbcUrl().replace("/" + db.getDatabaseName(), "/" + database);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.cliffdurden.transactionisolationdemo;
+
+import com.github.cliffdurden.transactionisolationdemo.entity.Book;
+import com.github.cliffdurden.transactionisolationdemo.service.BookWorkQueue;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.*;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+import static java.util.concurrent.CompletableFuture.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+class WorkQueueTests extends AbstractDatabaseTests {
+
+    @Autowired
+    private BookWorkQueue testSubject;
+
+    @BeforeEach
+    void setUp() {
+        repository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> Book.builder().author("Author").title("Title " + i).rating(0).build())
+                .toList());
+    }
+
+    @DynamicPropertySource
+    static void registerPgProperties(DynamicPropertyRegistry registry) {
+        TemplateDatabases.register(registry, "work_queue");
+    }
+
+    @DisplayName("[SKIP LOCKED] concurrent claims should get disjoint batches without waiting for each other.")
+    @Test
+    @SneakyThrows
+    void testConcurrentClaimsAreDisjoint() {
+        var since = Instant.now();
+        var claimedByT1 = ConcurrentHashMap.<Long>newKeySet();
+        var claimedByT2 = new HashSet<Long>();
+        CountDownLatch t1Claimed = new CountDownLatch(1);
+        CountDownLatch t2Done = new CountDownLatch(1);
+
+        var future1 = runAsync(() -> testSubject.processBatch(since, 10, book -> {
+            claimedByT1.add(book.getId());
+            t1Claimed.countDown();
+            await(t2Done); // keep the claimed rows locked
+        }));
+        t1Claimed.await();
+        int processedByT2 = testSubject.processBatch(since, 10, book -> claimedByT2.add(book.getId()));
+        t2Done.countDown();
+        future1.get(10, TimeUnit.SECONDS);
+
+        assertEquals(10, processedByT2);
+        assertEquals(10, claimedByT1.size());
+        assertTrue(Collections.disjoint(claimedByT1, claimedByT2));
+    }
+
+    @DisplayName("[SKIP LOCKED] draining with parallel workers should process every book exactly once.")
+    @Test
+    void testDrainProcessesEveryBookOnce() {
+        var processed = new ConcurrentHashMap<Long, Integer>();
+
+        long total = testSubject.drain(4, 7, book -> processed.merge(book.getId(), 1, Integer::sum));
+
+        assertEquals(100, total);
+        assertEquals(100, processed.size());
+        assertTrue(processed.values().stream().allMatch(count -> count == 1));
+        assertTrue(repository.findAll().stream().allMatch(book -> book.getRatingRecalculatedAt() != null));
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await();
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.cliffdurden.transactionisolationdemo.datasource;
+
+import com.github.cliffdurden.transactionisolationdemo.datasource.ReadWriteRoutingDataSource.Route;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.*;
+import org.springframework.jdbc.datasource.*;
+import org.springframework.transaction.support.*;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final StubLagMonitor lagMonitor = new StubLagMonitor();
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @DisplayName("should route read-only transactions to the replica and the rest to the primary")
+    @Test
+    void testRoutesByReadOnlyFlag() {
+        var testSubject = routingDataSource(Duration.ZERO);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(Route.REPLICA, testSubject.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals(Route.PRIMARY, testSubject.determineCurrentLookupKey());
+    }
+
+    @DisplayName("should fall back to the primary while the replica lags")
+    @Test
+    void testFallsBackToPrimaryWhenReplicaLags() {
+        var testSubject = routingDataSource(Duration.ZERO);
+        lagMonitor.usable = false;
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(Route.PRIMARY, testSubject.determineCurrentLookupKey());
+    }
+
+    @DisplayName("should keep read-only transactions on the primary within the sticky window after a committed write")
+    @Test
+    void testReadYourWrites() {
+        var testSubject = routingDataSource(Duration.ofMinutes(1));
+
+        testSubject.determineCurrentLookupKey(); // read-write transaction
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(Route.REPLICA, testSubject.determineCurrentLookupKey(), "Nothing has been committed yet");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(Route.PRIMARY, testSubject.determineCurrentLookupKey());
+    }
+
+    @DisplayName("should size by the smallest routing target without routing the current transaction")
+    @Test
+    void testHikariPoolsResolveEveryRoutingTarget() {
+        var primary = new HikariDataSource();
+        primary.setMaximumPoolSize(10);
+        var replica = new HikariDataSource();
+        replica.setMaximumPoolSize(4);
+        var dataSource = new DelegatingDataSource(
+                new ReadWriteRoutingDataSource(primary, replica, lagMonitor, Duration.ofMinutes(1)));
+
+        assertEquals(4, HikariPools.maximumPoolSize(dataSource));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty(), "No write has been remembered");
+    }
+
+    private ReadWriteRoutingDataSource routingDataSource(Duration stickyWindow) {
+        return new ReadWriteRoutingDataSource(new SimpleDriverDataSource(), new SimpleDriverDataSource(), lagMonitor, stickyWindow);
+    }
+
+    static class StubLagMonitor extends ReplicaLagMonitor {
+
+        boolean usable = true;
+
+        StubLagMonitor() {
+            super(new SimpleDriverDataSource(), Duration.ZERO);
+        }
+
+        @Override
+        public boolean isReplicaUsable() {
+            return usable;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.cliffdurden.transactionisolationdemo.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.*;
+import org.springframework.transaction.support.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredTransactionManagerTest {
+
+    private SimpleMeterRegistry registry;
+
+    private StubTransactionManager delegate;
+
+    private MeteredTransactionManager testSubject;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        delegate = new StubTransactionManager();
+        testSubject = new MeteredTransactionManager(delegate, registry);
+    }
+
+    @DisplayName("should time committed template transactions tagged by isolation level, propagation and name")
+    @Test
+    void testRecordsCommit() {
+        var transaction = template("Worker.run");
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+
+        transaction.executeWithoutResult(status -> assertEquals("Worker.run", tag("method")));
+
+        assertEquals(1, registry.get(MeteredTransactionManager.TRANSACTION_TIMER)
+                .tag("isolation", "SERIALIZABLE")
+                .tag("propagation", "REQUIRED")
+                .tag("method", "Worker.run")
+                .tag("outcome", "commit")
+                .timer().count());
+        assertEquals("none", tag("method"), "Tags should be cleared after the transaction");
+    }
+
+    @DisplayName("should record a committed rollback-only transaction as rollback")
+    @Test
+    void testRecordsRollbackOnly() {
+        template("Worker.run").executeWithoutResult(TransactionStatus::setRollbackOnly);
+
+        assertEquals(1, registry.get(MeteredTransactionManager.TRANSACTION_TIMER).tag("outcome", "rollback").timer().count());
+        assertTrue(registry.find(MeteredTransactionManager.TRANSACTION_TIMER).tag("outcome", "commit").timers().isEmpty());
+    }
+
+    @DisplayName("should record a transaction rolled back on an exception as rollback")
+    @Test
+    void testRecordsRollbackOnException() {
+        assertThrows(IllegalStateException.class, () -> template("Worker.run").executeWithoutResult(status -> {
+            throw new IllegalStateException("simulated");
+        }));
+
+        assertEquals(1, registry.get(MeteredTransactionManager.TRANSACTION_TIMER).tag("outcome", "rollback").timer().count());
+    }
+
+    @DisplayName("should record a transaction whose commit fails as rollback")
+    @Test
+    void testRecordsFailedCommit() {
+        delegate.commitFailure = new CannotAcquireLockException("simulated");
+
+        assertThrows(CannotAcquireLockException.class, () -> template("Worker.run").executeWithoutResult(status -> {
+        }));
+
+        assertEquals(1, registry.get(MeteredTransactionManager.TRANSACTION_TIMER).tag("outcome", "rollback").timer().count());
+    }
+
+    @DisplayName("should record joined transactions as part of the outer one and new ones separately")
+    @Test
+    void testRecordsOnlyNewTransactions() {
+        var inner = template("Inner.joined");
+        var requiresNew = template("Inner.requiresNew");
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        template("Outer.run").executeWithoutResult(status -> {
+            inner.executeWithoutResult(innerStatus -> assertEquals("Outer.run", tag("method")));
+            requiresNew.executeWithoutResult(innerStatus -> assertEquals("Inner.requiresNew", tag("method")));
+            assertEquals("Outer.run", tag("method"));
+        });
+
+        assertEquals(1, registry.get(MeteredTransactionManager.TRANSACTION_TIMER).tag("method", "Outer.run").timer().count());
+        assertEquals(1, registry.get(MeteredTransactionManager.TRANSACTION_TIMER).tag("method", "Inner.requiresNew").timer().count());
+        assertTrue(registry.find(MeteredTransactionManager.TRANSACTION_TIMER).tag("method", "Inner.joined").timers().isEmpty());
+    }
+
+    @DisplayName("should shorten @Transactional names to class and method")
+    @Test
+    void testMethodName() {
+        assertEquals("BookServiceDemoImpl.findBook", MeteredTransactionManager.method("com.example.service.BookServiceDemoImpl.findBook"));
+        assertEquals("Operations.failing", MeteredTransactionManager.method("com.example.MetricsTest$Operations.failing"));
+        assertEquals("Worker", MeteredTransactionManager.method("Worker"));
+        assertEquals("none", MeteredTransactionManager.method(null));
+    }
+
+    private TransactionTemplate template(String name) {
+        var template = new TransactionTemplate(testSubject);
+        template.setName(name);
+        return template;
+    }
+
+    private static String tag(String key) {
+        return MeteredTransactionManager.currentTransactionTags().stream()
+                .filter(tag -> tag.getKey().equals(key))
+                .findFirst().orElseThrow().getValue();
+    }
+
+    /**
+     * Transaction bookkeeping of Spring without a resource: joining, suspending and rollback-only work as usual.
+     */
+    static class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+        RuntimeException commitFailure;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new StubTransaction(TransactionSynchronizationManager.hasResource(this));
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((StubTransaction) transaction).existing();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            TransactionSynchronizationManager.bindResource(this, transaction);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return TransactionSynchronizationManager.unbindResource(this);
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            TransactionSynchronizationManager.bindResource(this, suspendedResources);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            if (commitFailure != null) {
+                throw commitFailure;
+            }
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        }
+
+        private record StubTransaction(boolean existing) {
+        }
+    }
+}
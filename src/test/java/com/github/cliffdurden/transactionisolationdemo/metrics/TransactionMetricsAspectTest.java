@@ -0,0 +1,60 @@
+package com.github.cliffdurden.transactionisolationdemo.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.annotation.*;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+
+    private Operations proxy;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        var factory = new AspectJProxyFactory(new Operations());
+        factory.addAspect(new TransactionMetricsAspect(registry));
+        proxy = factory.getProxy();
+    }
+
+    @DisplayName("should not count successful transactions")
+    @Test
+    void testIgnoresSuccess() {
+        proxy.serializable();
+
+        assertTrue(registry.find(TransactionMetricsAspect.SERIALIZATION_FAILURES).counters().isEmpty());
+        assertTrue(registry.find(TransactionMetricsAspect.DEADLOCKS).counters().isEmpty());
+    }
+
+    @DisplayName("should count serialization failures and deadlocks tagged by isolation level and method")
+    @Test
+    void testRecordsFailures() {
+        assertThrows(CannotAcquireLockException.class, () -> proxy.failing("40001"));
+        assertThrows(CannotAcquireLockException.class, () -> proxy.failing("40P01"));
+
+        assertEquals(1, registry.get(TransactionMetricsAspect.SERIALIZATION_FAILURES)
+                .tag("isolation", "REPEATABLE_READ")
+                .tag("method", "Operations.failing")
+                .counter().count());
+        assertEquals(1, registry.get(TransactionMetricsAspect.DEADLOCKS).counter().count());
+    }
+
+    static class Operations {
+
+        @Transactional(isolation = Isolation.SERIALIZABLE)
+        public void serializable() {
+        }
+
+        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        public void failing(String sqlState) {
+            throw new CannotAcquireLockException("simulated", new SQLException("simulated", sqlState));
+        }
+    }
+}
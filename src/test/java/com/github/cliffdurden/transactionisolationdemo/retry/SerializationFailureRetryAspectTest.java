@@ -0,0 +1,95 @@
+package com.github.cliffdurden.transactionisolationdemo.retry;
+
+import org.junit.jupiter.api.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializationFailureRetryAspectTest {
+
+    private SerializationFailureRetryAspect aspect;
+
+    private FlakyOperation target;
+
+    private FlakyOperation proxy;
+
+    @BeforeEach
+    void setUp() {
+        aspect = new SerializationFailureRetryAspect();
+        target = new FlakyOperation();
+        var factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @DisplayName("should retry serialization failures until the call succeeds")
+    @Test
+    void testRetriesSerializationFailure() {
+        target.failures = 2;
+        target.sqlState = SerializationFailures.SERIALIZATION_FAILURE;
+
+        assertEquals(3, proxy.call());
+        assertEquals(2, aspect.getRetries());
+        assertEquals(0, aspect.getGiveUps());
+    }
+
+    @DisplayName("should retry deadlocks")
+    @Test
+    void testRetriesDeadlock() {
+        target.failures = 1;
+        target.sqlState = SerializationFailures.DEADLOCK_DETECTED;
+
+        assertEquals(2, proxy.call());
+        assertEquals(1, aspect.getRetries());
+    }
+
+    @DisplayName("should give up when the attempt budget is exhausted")
+    @Test
+    void testGivesUpAfterMaxAttempts() {
+        target.failures = Integer.MAX_VALUE;
+        target.sqlState = SerializationFailures.SERIALIZATION_FAILURE;
+
+        assertThrows(CannotAcquireLockException.class, () -> proxy.call());
+        assertEquals(3, target.attempts.get());
+        assertEquals(2, aspect.getRetries());
+        assertEquals(1, aspect.getGiveUps());
+    }
+
+    @DisplayName("shouldn't retry other errors")
+    @Test
+    void testDoesNotRetryOtherErrors() {
+        target.failures = 1;
+        target.sqlState = "23505";
+
+        assertThrows(DataIntegrityViolationException.class, () -> proxy.call());
+        assertEquals(1, target.attempts.get());
+        assertEquals(0, aspect.getRetries());
+    }
+
+    static class FlakyOperation {
+
+        final AtomicInteger attempts = new AtomicInteger();
+
+        int failures;
+
+        String sqlState;
+
+        @RetryOnSerializationFailure(maxAttempts = 3, initialBackoffMillis = 1, maxBackoffMillis = 2)
+        public int call() {
+            var attempt = attempts.incrementAndGet();
+            if (attempt <= failures) {
+                var cause = new SQLException("simulated", sqlState);
+                if (sqlState.startsWith("40")) {
+                    throw new CannotAcquireLockException("could not serialize access", cause);
+                }
+                throw new DataIntegrityViolationException("duplicate key", cause);
+            }
+            return attempt;
+        }
+    }
+}
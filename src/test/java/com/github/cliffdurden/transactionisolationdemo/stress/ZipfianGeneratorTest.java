@@ -0,0 +1,45 @@
+package com.github.cliffdurden.transactionisolationdemo.stress;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfianGeneratorTest {
+
+    private static final int ITEMS = 1000;
+
+    private static final int SAMPLES = 100_000;
+
+    @DisplayName("should spread keys evenly when the skew is 0")
+    @Test
+    void testUniform() {
+        var counts = sample(new ZipfianGenerator(ITEMS, 0));
+
+        assertTrue(counts[0] < SAMPLES / ITEMS * 2, "The first key shouldn't be hot");
+    }
+
+    @DisplayName("should concentrate keys on the first ranks when the skew is high")
+    @Test
+    void testSkewed() {
+        var counts = sample(new ZipfianGenerator(ITEMS, 0.99));
+
+        assertTrue(counts[0] > SAMPLES / 10, "The first key should be hot");
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[10]);
+    }
+
+    @DisplayName("should reject skews outside of [0, 1)")
+    @Test
+    void testRejectsInvalidSkew() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianGenerator(ITEMS, 1.0));
+    }
+
+    private static int[] sample(ZipfianGenerator generator) {
+        var counts = new int[ITEMS];
+        for (int i = 0; i < SAMPLES; i++) {
+            var key = generator.next();
+            assertTrue(key >= 0 && key < ITEMS);
+            counts[(int) key]++;
+        }
+        return counts;
+    }
+}
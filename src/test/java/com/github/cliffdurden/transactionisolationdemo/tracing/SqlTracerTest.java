@@ -0,0 +1,101 @@
+package com.github.cliffdurden.transactionisolationdemo.tracing;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.*;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqlTracerTest {
+
+    private final SqlTraceBuffer buffer = new SqlTraceBuffer(8);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @DisplayName("should trace statement text, bind count and the owning transaction")
+    @Test
+    @SneakyThrows
+    void testTracesStatementWithTransaction() {
+        var dataSource = tracingDataSource(new SqlTracer(buffer, 1.0, Duration.ofHours(1)));
+        TransactionSynchronizationManager.setCurrentTransactionName("BookServiceDemoImpl.updateRating");
+        TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(Isolation.SERIALIZABLE.value());
+
+        try (var connection = dataSource.getConnection();
+             var statement = connection.prepareStatement("update book set rating=? where id=?")) {
+            statement.setInt(1, 5);
+            statement.setLong(2, 1L);
+            statement.executeUpdate();
+        }
+
+        var trace = drain().get(0);
+        assertEquals("update book set rating=? where id=?", trace.sql());
+        assertEquals(2, trace.bindCount());
+        assertEquals("BookServiceDemoImpl.updateRating", trace.transaction());
+        assertEquals("SERIALIZABLE", trace.isolation());
+        assertFalse(trace.slow());
+    }
+
+    @DisplayName("should always trace slow statements and skip unsampled fast ones")
+    @Test
+    @SneakyThrows
+    void testSamplesOnlySlowStatements() {
+        var dataSource = tracingDataSource(new SqlTracer(buffer, 0.0, Duration.ZERO));
+        var fastOnly = tracingDataSource(new SqlTracer(buffer, 0.0, Duration.ofHours(1)));
+
+        try (var connection = fastOnly.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("select 1");
+        }
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("select 2");
+        }
+
+        var traces = drain();
+        assertEquals(1, traces.size());
+        assertEquals("select 2", traces.get(0).sql());
+        assertTrue(traces.get(0).slow());
+    }
+
+    @DisplayName("should drop the oldest traces when the ring wraps around")
+    @Test
+    void testDropsOldestWhenFull() {
+        for (int i = 0; i < 10; i++) {
+            buffer.offer(trace("select " + i));
+        }
+
+        var traces = drain();
+        assertEquals(8, traces.size());
+        assertEquals("select 2", traces.get(0).sql());
+        assertEquals(2, buffer.getDropped());
+        assertTrue(drain().isEmpty());
+    }
+
+    private List<SqlTrace> drain() {
+        var traces = new ArrayList<SqlTrace>();
+        buffer.drainTo(traces::add);
+        return traces;
+    }
+
+    @SneakyThrows
+    private static DataSource tracingDataSource(SqlTracer tracer) {
+        var dataSource = mock(DataSource.class);
+        var connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        return new TracingDataSource(dataSource, tracer);
+    }
+
+    private static SqlTrace trace(String sql) {
+        return new SqlTrace(Instant.now(), sql, 0, 0, 0, null, "DEFAULT", false, 0, "main", false);
+    }
+}